@@ -0,0 +1,33 @@
+-- Moves product.category and orders.status from enum names to the one-byte
+-- ids of Category and StatusType (see CategoryConverter and
+-- StatusTypeConverter). For MySQL databases whose schema was created before
+-- the converters; schemas created by Hibernate afterwards already use TINYINT.
+-- Each MODIFY rebuilds the table and the indexes on the column, so run it in
+-- a maintenance window on large tables.
+
+-- ===== PRODUCT =====
+
+ALTER TABLE product MODIFY category VARCHAR(32) NOT NULL;
+
+UPDATE product SET category = CASE category
+  WHEN 'APPLE'             THEN '1'
+  WHEN 'NINTENDO_SWITCH'   THEN '2'
+  WHEN 'NINTENDO_SWITCH_2' THEN '3'
+  WHEN 'PC'                THEN '4'
+  WHEN 'ACCESSORIES'       THEN '5'
+END;
+
+ALTER TABLE product MODIFY category TINYINT NOT NULL;
+
+-- ===== ORDERS =====
+
+ALTER TABLE orders MODIFY status VARCHAR(32) NOT NULL;
+
+UPDATE orders SET status = CASE status
+  WHEN 'DRAFT'     THEN '1'
+  WHEN 'PENDING'   THEN '2'
+  WHEN 'SENT'      THEN '3'
+  WHEN 'DELIVERED' THEN '4'
+END;
+
+ALTER TABLE orders MODIFY status TINYINT NOT NULL;
@@ -0,0 +1,25 @@
+-- Adds the optimistic-locking version columns of product, users and orders,
+-- and lets the database delete the dependent rows of a deleted user, order or
+-- product, so that each delete is a single statement. For MySQL databases
+-- whose schema was created before these mappings. The constraint names are
+-- the ones Hibernate generates for these foreign keys.
+
+-- ===== VERSION COLUMNS =====
+
+ALTER TABLE product ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- ===== CASCADING DELETES =====
+
+ALTER TABLE orders DROP FOREIGN KEY FK32ql8ubntj5uh44ph9659tiih;
+ALTER TABLE orders ADD CONSTRAINT FK32ql8ubntj5uh44ph9659tiih
+  FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+ALTER TABLE order_items DROP FOREIGN KEY FKbioxgbv59vetrxe0ejfubep1w;
+ALTER TABLE order_items ADD CONSTRAINT FKbioxgbv59vetrxe0ejfubep1w
+  FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE;
+
+ALTER TABLE order_items DROP FOREIGN KEY FKlf6f9q956mt144wiv6p1yko16;
+ALTER TABLE order_items ADD CONSTRAINT FKlf6f9q956mt144wiv6p1yko16
+  FOREIGN KEY (product_id) REFERENCES product (id) ON DELETE CASCADE;
@@ -0,0 +1,7 @@
+-- Makes users.email unique, the final guard behind the signup filter that
+-- lets most registrations skip the uniqueness queries. For MySQL databases
+-- whose schema was created before the constraint. Fails if two users share
+-- an email; list them first with:
+--   SELECT email, COUNT(*) FROM users GROUP BY email HAVING COUNT(*) > 1;
+
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
@@ -0,0 +1,6 @@
+-- Widens users.password to hold BCrypt hashes (60 characters). For MySQL
+-- databases whose schema was created before passwords were hashed. Plain-text
+-- passwords already stored keep working and are replaced by a hash the next
+-- time their user logs in.
+
+ALTER TABLE users MODIFY password VARCHAR(100) NOT NULL;
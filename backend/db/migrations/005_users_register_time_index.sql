@@ -0,0 +1,5 @@
+-- Indexes users by registration day, for the paginated registration listing
+-- and the grouped count that loads the registration histogram on startup.
+-- For MySQL databases whose schema was created before the index.
+
+CREATE INDEX idx_users_register_time_id ON users (register_time, id);
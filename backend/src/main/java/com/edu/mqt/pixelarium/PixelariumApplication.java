@@ -2,8 +2,10 @@ package com.edu.mqt.pixelarium;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PixelariumApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(PixelariumApplication.class, args);
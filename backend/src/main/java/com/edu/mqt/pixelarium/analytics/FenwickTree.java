@@ -0,0 +1,125 @@
+package com.edu.mqt.pixelarium.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Binary indexed tree (Fenwick tree) over a row of counters. Adding to one
+ * counter and summing any range of counters both take {@code O(log n)}, so a
+ * histogram can answer range counts without visiting every slot.
+ * <p>
+ * Not thread-safe; callers must guard access.
+ */
+final class FenwickTree {
+
+    private long[] tree;
+
+    /**
+     * Creates a tree of {@code size} counters, all zero.
+     *
+     * @param size number of counters
+     */
+    FenwickTree(int size) {
+        this.tree = new long[size + 1];
+    }
+
+    /**
+     * Creates a tree holding the given counters, built in {@code O(n)}.
+     *
+     * @param counts initial value of every counter
+     * @return the tree
+     */
+    static FenwickTree of(long[] counts) {
+        FenwickTree built = new FenwickTree(counts.length);
+        built.fill(counts);
+        return built;
+    }
+
+    /**
+     * Returns the number of counters.
+     *
+     * @return the size of the tree
+     */
+    int size() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds a delta to one counter.
+     *
+     * @param index counter position, from {@code 0}
+     * @param delta value to add; may be negative
+     */
+    void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the counters before a position.
+     *
+     * @param end position after the last counter summed; clamped to the tree
+     * @return the sum of counters {@code [0, end)}
+     */
+    long prefixSum(int end) {
+        long sum = 0;
+        for (int i = Math.min(end, size()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the counters in a range.
+     *
+     * @param from first position (inclusive)
+     * @param to   last position (exclusive)
+     * @return the sum of counters {@code [from, to)}, or {@code 0} for an
+     *         empty range
+     */
+    long rangeSum(int from, int to) {
+        int start = Math.max(from, 0);
+        return to <= start ? 0 : prefixSum(to) - prefixSum(start);
+    }
+
+    /**
+     * Returns the value of every counter, in {@code O(n)}.
+     *
+     * @return a new array with one value per counter
+     */
+    long[] counts() {
+        long[] counts = Arrays.copyOfRange(tree, 1, tree.length);
+        for (int i = counts.length; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= counts.length) {
+                counts[parent - 1] -= counts[i - 1];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Replaces the counters by a row of at least the current size, with
+     * {@code offset} zero counters in front of the current ones.
+     *
+     * @param offset number of counters inserted before the first one
+     * @param size   new number of counters
+     */
+    void resize(int offset, int size) {
+        long[] counts = new long[size];
+        long[] current = counts();
+        System.arraycopy(current, 0, counts, offset, current.length);
+        tree = new long[size + 1];
+        fill(counts);
+    }
+
+    private void fill(long[] counts) {
+        System.arraycopy(counts, 0, tree, 1, counts.length);
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
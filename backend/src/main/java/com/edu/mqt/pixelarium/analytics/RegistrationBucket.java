@@ -0,0 +1,16 @@
+package com.edu.mqt.pixelarium.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Number of users registered in one bucket of a registration histogram.
+ *
+ * @param from  first day of the bucket (inclusive)
+ * @param to    last day of the bucket (exclusive)
+ * @param users number of users registered in {@code [from, to)}
+ */
+public record RegistrationBucket(
+    LocalDate from,
+    LocalDate to,
+    long users
+) {}
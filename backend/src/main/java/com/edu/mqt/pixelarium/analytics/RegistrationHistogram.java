@@ -0,0 +1,190 @@
+package com.edu.mqt.pixelarium.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.RegistrationChangedEvent;
+import com.edu.mqt.pixelarium.model.enumerated.TimeGranularity;
+import com.edu.mqt.pixelarium.repositories.RegistrationDayRow;
+import com.edu.mqt.pixelarium.repositories.UserRepository;
+
+/**
+ * Number of registered users per day, held in a {@link FenwickTree} with one
+ * counter per day, so the users registered in any range of days are counted
+ * in {@code O(log n)} without touching the database. It is loaded on startup
+ * with one query grouped by registration day and kept in step with committed
+ * user creates and deletes.
+ * <p>
+ * The first counter is the earliest registration day; the tree grows in
+ * either direction when a day outside it is counted.
+ */
+@Component
+public class RegistrationHistogram implements SmartInitializingSingleton {
+
+    private static final int DAYS_AHEAD = 366;
+
+    private final UserRepository userRepo;
+    private final int maxBuckets;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FenwickTree counts = new FenwickTree(0);
+    private long firstDay = LocalDate.now().toEpochDay();
+
+    /**
+     * Creates a histogram that is loaded from the user repository on startup.
+     *
+     * @param userRepo   repository the registrations are counted from
+     * @param maxBuckets most buckets one histogram request may ask for
+     */
+    public RegistrationHistogram(UserRepository userRepo,
+            @Value("${pixelarium.registrations.max-buckets:1000}") int maxBuckets) {
+        this.userRepo = userRepo;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Loads the registrations before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Recounts the registrations per day from the users table.
+     */
+    public void rebuild() {
+        List<RegistrationDayRow> rows = userRepo.countRegistrationsByDay();
+        long first = rows.isEmpty() ? LocalDate.now().toEpochDay() : rows.get(0).day().toEpochDay();
+        long last = rows.isEmpty() ? first : rows.get(rows.size() - 1).day().toEpochDay();
+        long[] days = new long[Math.toIntExact(last - first + 1 + DAYS_AHEAD)];
+        for (RegistrationDayRow row : rows) {
+            days[(int) (row.day().toEpochDay() - first)] = row.users();
+        }
+
+        lock.writeLock().lock();
+        try {
+            counts = FenwickTree.of(days);
+            firstDay = first;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a committed user create or delete.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent event) {
+        long day = event.registerTime().toEpochDay();
+        lock.writeLock().lock();
+        try {
+            if (day < firstDay) {
+                int offset = Math.toIntExact(firstDay - day);
+                counts.resize(offset, counts.size() + offset);
+                firstDay = day;
+            } else if (day - firstDay >= counts.size()) {
+                counts.resize(0, Math.toIntExact(Math.max(day - firstDay + 1 + DAYS_AHEAD, 2L * counts.size())));
+            }
+            counts.add((int) (day - firstDay), event.delta());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of users registered in a range of days.
+     *
+     * @param from first day (inclusive), or {@code null} for no lower bound
+     * @param to   last day (exclusive), or {@code null} for no upper bound
+     * @return number of users registered in {@code [from, to)}
+     */
+    public long count(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return counts.rangeSum(from == null ? 0 : index(from), to == null ? counts.size() : index(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a range of days into days, weeks or months and returns the
+     * number of users registered in each, empty buckets included. The first
+     * and last buckets are cut to the range.
+     *
+     * @param from        first day (inclusive)
+     * @param to          last day (exclusive)
+     * @param granularity bucket width
+     * @return the buckets in day order
+     * @throws IllegalArgumentException if the range is reversed or needs
+     *                                  more buckets than allowed
+     */
+    public List<RegistrationBucket> histogram(LocalDate from, LocalDate to, TimeGranularity granularity) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The range must not end before it starts!");
+        }
+        List<LocalDate> bounds = new ArrayList<>();
+        bounds.add(from);
+        for (LocalDate next = next(bucketStart(from, granularity), granularity); next.isBefore(to);
+                next = next(next, granularity)) {
+            if (bounds.size() == maxBuckets) {
+                throw new IllegalArgumentException("A histogram holds at most " + maxBuckets + " buckets!");
+            }
+            bounds.add(next);
+        }
+        bounds.add(to);
+
+        List<RegistrationBucket> buckets = new ArrayList<>(bounds.size() - 1);
+        lock.readLock().lock();
+        try {
+            for (int i = 1; i < bounds.size(); i++) {
+                LocalDate start = bounds.get(i - 1);
+                LocalDate end = bounds.get(i);
+                if (start.isBefore(end)) {
+                    buckets.add(new RegistrationBucket(start, end, counts.rangeSum(index(start), index(end))));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the position of a day in the tree, clamped to
+     * {@code [0, size]}. Callers must hold the lock.
+     */
+    private int index(LocalDate day) {
+        long offset = day.toEpochDay() - firstDay;
+        return (int) Math.max(0, Math.min(offset, counts.size()));
+    }
+
+    private static LocalDate bucketStart(LocalDate day, TimeGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate start, TimeGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings. It answers whether a key may have
+ * been added: {@code false} is certain, {@code true} is wrong for about the
+ * configured fraction of keys never added. Keys cannot be removed.
+ * <p>
+ * The bit positions of a key come from two 64-bit hashes combined as
+ * {@code h1 + i * h2} (Kirsch and Mitzenmacher), so every lookup hashes the
+ * key once whatever the number of hash functions.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long bits;
+    private final int hashFunctions;
+    private final AtomicLongArray words;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Creates a filter sized so that, once {@code expectedEntries} keys have
+     * been added, about {@code falsePositiveRate} of the keys never added
+     * are reported as present.
+     *
+     * @param expectedEntries   number of keys the filter is sized for
+     * @param falsePositiveRate target false-positive rate at that size
+     * @throws IllegalArgumentException if {@code expectedEntries} is not
+     *                                  positive or {@code falsePositiveRate}
+     *                                  is not between 0 and 1
+     */
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Expected entries must be positive!");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1!");
+        }
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = wordCount * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / expectedEntries * LN2));
+        this.words = new AtomicLongArray(wordCount);
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key key to add
+     */
+    public void put(String key) {
+        long h1 = mix(hash(key));
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Returns whether a key may have been added.
+     *
+     * @param key key to look up
+     * @return {@code false} if the key was certainly never added
+     */
+    public boolean mightContain(String key) {
+        long h1 = mix(hash(key));
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the fraction of bits
+     * set. Scans the whole bit array.
+     *
+     * @return the probability that a key never added is reported as present
+     */
+    public double estimatedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bits, hashFunctions);
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the number of keys added, counting repeated keys each time.
+     *
+     * @return the number of insertions
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Returns the size of the bit array.
+     *
+     * @return memory used by the bits, in bytes
+     */
+    public long memoryBytes() {
+        return bits / 8;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units of the key.
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Final mixing step of MurmurHash3, spreading every input bit over the
+     * whole result.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
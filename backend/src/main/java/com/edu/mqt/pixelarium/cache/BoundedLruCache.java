@@ -0,0 +1,202 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe, size-bounded map that evicts the least recently used entry
+ * once the configured capacity is exceeded.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedLruCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Incremented on every invalidation so that a load started before a
+     * write cannot repopulate the cache with the value that write replaced.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates a cache that holds at most {@code maxSize} entries.
+     *
+     * @param maxSize maximum number of entries
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public BoundedLruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive!");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedLruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, or {@code null} if absent.
+     *
+     * @param key key to look up
+     * @return the cached value, or {@code null}
+     */
+    public V get(K key) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss.
+     * The loader runs outside the cache lock; its result is discarded if the
+     * cache was invalidated while it was running.
+     *
+     * @param key    key to look up
+     * @param loader function that produces the value on a miss
+     * @return the cached or freshly loaded value
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        long observed = generation.get();
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                if (generation.get() == observed) {
+                    entries.put(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values for the keys, loading every missing key with
+     * a single call to the loader. Keys the loader cannot resolve are absent
+     * from the result.
+     *
+     * @param keys   keys to look up
+     * @param loader function that loads the missing keys in one batch
+     * @return the values found, keyed by their keys
+     */
+    public Map<K, V> getAllOrLoad(Collection<? extends K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long observed = generation.get();
+        Map<K, V> found = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value == null) {
+                missing.add(key);
+            } else {
+                found.put(key, value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<K, V> loaded = loader.apply(missing);
+        synchronized (entries) {
+            if (generation.get() == observed) {
+                entries.putAll(loaded);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Stores or replaces the value for the key.
+     *
+     * @param key   key to store
+     * @param value value to store
+     */
+    public void put(K key, V value) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the value for the key, if present.
+     *
+     * @param key key to remove
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches. Scans the whole cache.
+     *
+     * @param stale predicate selecting the values to remove
+     */
+    public void invalidateValues(Predicate<? super V> stale) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(stale);
+        }
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the current usage counters.
+     *
+     * @return cache statistics snapshot
+     */
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, maxSize);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,25 @@
+package com.edu.mqt.pixelarium.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions. Each region is a JCache
+ * cache created by {@code SecondLevelCacheConfig}.
+ */
+public final class CacheRegions {
+
+    /** Cached {@code Product} entities. */
+    public static final String PRODUCT = "product";
+
+    /** Cached {@code User} entities. */
+    public static final String USER = "user";
+
+    /** Cached results (product ids) of the category and sale-offer queries. */
+    public static final String PRODUCT_QUERIES = "product-queries";
+
+    /** Last update time of each table, checked before a cached query result is used. */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /** Results of cacheable queries that name no region; unused but created by Hibernate. */
+    public static final String DEFAULT_QUERIES = "default-query-results-region";
+
+    private CacheRegions() {}
+}
@@ -0,0 +1,23 @@
+package com.edu.mqt.pixelarium.cache;
+
+/**
+ * Represents a point-in-time snapshot of cache usage counters.
+ */
+public record CacheStats(
+    long hits,
+    long misses,
+    long evictions,
+    int size,
+    int maxSize
+) {
+
+    /**
+     * Returns the fraction of lookups that were served from the cache.
+     *
+     * @return hit ratio between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,194 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.exception.RequestInProgressException;
+import com.edu.mqt.pixelarium.exception.ServiceBusyException;
+
+/**
+ * Remembers the outcome of requests sent with an idempotency key so that
+ * client retries are answered with the original result instead of running
+ * the request again.
+ * <p>
+ * The first request for a key runs; duplicates arriving while it is still
+ * running wait for its result. Successful results are kept for the
+ * configured time-to-live, failed requests are forgotten so they can be
+ * retried. The number of remembered keys is bounded; the oldest completed
+ * results are dropped first. Keys whose request is still running are never
+ * dropped, so when every remembered key is running new keys are refused
+ * with {@link ServiceBusyException}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Duration waitTimeout;
+    private final LinkedHashMap<String, Entry> entries;
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Outcome of a keyed request, complete once the first execution finishes.
+     */
+    private record Entry(Object fingerprint, CompletableFuture<Object> result, long expiresAt) {}
+
+    /**
+     * Creates a store with the given limits.
+     *
+     * @param maxEntries  maximum number of remembered keys
+     * @param ttl         how long a completed result is replayed
+     * @param waitTimeout how long a duplicate waits for the first execution
+     */
+    public IdempotencyStore(@Value("${pixelarium.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${pixelarium.idempotency.ttl:24h}") Duration ttl,
+            @Value("${pixelarium.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.waitTimeout = waitTimeout;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Runs the action once per key and returns its result to every request
+     * carrying the same key.
+     *
+     * @param key         idempotency key sent by the client, or {@code null}
+     *                    to run the action unconditionally
+     * @param fingerprint value identifying the request payload
+     * @param action      work to perform on the first request
+     * @param <T>         result type
+     * @return the result of the first execution for the key
+     * @throws IllegalArgumentException   if the key was used with a different payload
+     * @throws RequestInProgressException if the first execution does not
+     *                                    finish within the wait timeout
+     * @throws ServiceBusyException       if the key is new and the store is
+     *                                    full of running requests
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object fingerprint, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+
+        Entry entry;
+        boolean owner;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            purgeExpired(now);
+            entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.fingerprint().equals(fingerprint)) {
+                    throw new IllegalArgumentException("Idempotency key was already used with a different request: "
+                            + key);
+                }
+                replays.increment();
+                owner = false;
+            } else {
+                if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+                    throw new ServiceBusyException("Too many idempotent requests in progress, retry shortly");
+                }
+                entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMillis);
+                entries.put(key, entry);
+                executions.increment();
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            return (T) await(key, entry.result());
+        }
+
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object await(String key, CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new RequestInProgressException("A request with this idempotency key is still in progress: " + key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("A request with this idempotency key is still in progress: " + key);
+        }
+    }
+
+    /**
+     * Drops expired entries whose request has finished. Entries are kept in
+     * creation order and share one time-to-live, so expired entries are
+     * always at the head; running ones among them are skipped. Must be
+     * called while holding the entries lock.
+     */
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt() > now) {
+                break;
+            }
+            if (entry.result().isDone()) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the oldest entry whose request has finished. Must be called while
+     * holding the entries lock.
+     *
+     * @return {@code false} if every entry is still running
+     */
+    private boolean evictOldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+                evictions.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns usage counters; hits are replayed requests and misses are
+     * first executions.
+     *
+     * @return store statistics snapshot
+     */
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(replays.sum(), executions.sum(), evictions.sum(), size, maxEntries);
+    }
+}
@@ -0,0 +1,99 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.event.StockChangedEvent;
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+
+/**
+ * Keeps product snapshots in memory in front of the product repository.
+ * Entries are evicted as soon as a product write commits.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final BoundedLruCache<Long, ProductDTOResponse> products;
+
+    /**
+     * Creates a cache holding at most {@code maxSize} products.
+     *
+     * @param maxSize maximum number of cached products
+     */
+    public ProductCatalogCache(@Value("${pixelarium.cache.products.max-size:10000}") int maxSize) {
+        this.products = new BoundedLruCache<>(maxSize);
+    }
+
+    /**
+     * Returns a cached product, loading it on a miss.
+     *
+     * @param id     product identifier
+     * @param loader function that loads the product from the database
+     * @return the product snapshot
+     */
+    public ProductDTOResponse getProduct(Long id, Function<Long, ProductDTOResponse> loader) {
+        return products.getOrLoad(id, loader);
+    }
+
+    /**
+     * Returns the cached products for the ids, loading every miss in one batch.
+     *
+     * @param ids    product identifiers
+     * @param loader function that loads the missing products from the database
+     * @return the products found, keyed by id
+     */
+    public Map<Long, ProductDTOResponse> getProducts(Collection<Long> ids,
+            Function<Set<Long>, Map<Long, ProductDTOResponse>> loader) {
+        return products.getAllOrLoad(ids, loader);
+    }
+
+    /**
+     * Drops the cached entry for a product that is about to change, so that
+     * readers inside the writing transaction go back to the database.
+     *
+     * @param id product identifier
+     */
+    public void invalidate(Long id) {
+        products.invalidate(id);
+    }
+
+    /**
+     * Evicts a product once its write commits, so the next read loads it
+     * again. The snapshot in the event is not cached: listeners of writes
+     * that commit back to back may run in either order, and caching the
+     * snapshot could bring back an older version or a deleted product.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.invalidate(event.productId());
+    }
+
+    /**
+     * Evicts products whose stock changed once the change commits, so the
+     * next read picks up the new stock level.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        event.productIds().forEach(products::invalidate);
+    }
+
+    /**
+     * Returns the current cache usage counters.
+     *
+     * @return cache statistics snapshot
+     */
+    public CacheStats stats() {
+        return products.stats();
+    }
+}
@@ -0,0 +1,112 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Keeps the Hibernate second-level cache consistent with writes that
+ * Hibernate does not see, and reports the usage of its regions.
+ * <p>
+ * Stock updates are plain SQL statements. Hibernate would evict a whole
+ * entity region after a JPQL bulk update, so checkouts would keep the
+ * product region empty. Instead, the updated rows are soft-locked the way
+ * Hibernate locks an entity it updates itself: while a row is locked, and
+ * afterwards for any session opened before the lock was released, the
+ * cache neither serves nor stores it.
+ */
+@Component
+public class SecondLevelCache {
+
+    private static final List<String> REPORTED_REGIONS =
+            List.of(CacheRegions.PRODUCT, CacheRegions.USER, CacheRegions.PRODUCT_QUERIES);
+
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+
+    /**
+     * Creates a helper working on the current transaction's session.
+     *
+     * @param entityManager           shared entity manager
+     * @param secondLevelCacheManager cache manager holding the regions
+     */
+    public SecondLevelCache(EntityManager entityManager, CacheManager secondLevelCacheManager) {
+        this.entityManager = entityManager;
+        this.cacheManager = secondLevelCacheManager;
+    }
+
+    /**
+     * Locks cached entities that are about to be changed with SQL until the
+     * surrounding transaction completes. Must run inside a transaction.
+     *
+     * @param entityType entity class
+     * @param ids        identifiers of the rows being changed
+     */
+    public void lockUntilCompletion(Class<?> entityType, Collection<?> ids) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityType);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        if (access == null) {
+            return;
+        }
+        for (Object id : ids) {
+            Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = access.lockItem(session, key, null);
+            session.getTransactionCompletionCallbacks().registerCallback(
+                    (success, completedSession) -> access.unlockItem(completedSession, key, lock));
+        }
+    }
+
+    /**
+     * Invalidates the cached query results that read an entity's table,
+     * for rows written with plain JDBC. Results cached before the
+     * surrounding transaction completes are not served afterwards. Must run
+     * inside a transaction.
+     *
+     * @param entityType entity class whose table is written
+     */
+    public void invalidateQueries(Class<?> entityType) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        String[] spaces = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityType)
+                .getPropertySpaces();
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        timestamps.preInvalidate(spaces, session);
+        session.getTransactionCompletionCallbacks().registerCallback(
+                (success, completedSession) -> timestamps.invalidate(spaces, completedSession));
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the entity and query
+     * regions.
+     *
+     * @return statistics keyed by region name
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        for (String region : REPORTED_REGIONS) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            com.github.benmanes.caffeine.cache.Cache<?, ?> entries =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            com.github.benmanes.caffeine.cache.stats.CacheStats counters = entries.stats();
+            long maxSize = cache.getConfiguration(CaffeineConfiguration.class).getMaximumSize().orElse(0);
+            stats.put(region, new CacheStats(counters.hitCount(), counters.missCount(),
+                    counters.evictionCount(), (int) entries.estimatedSize(), (int) maxSize));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,233 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.repositories.UserKeyRow;
+import com.edu.mqt.pixelarium.repositories.UserRepository;
+
+/**
+ * Bloom filter over the registered emails and user names, so that a signup
+ * with keys never seen before skips the uniqueness queries. Only keys the
+ * filter cannot rule out are looked up in the database, and the unique
+ * constraints on both columns stay the final guard.
+ * <p>
+ * Keys are trimmed and lower-cased before hashing, which can only add false
+ * positives. Keys are added once a user create or change has committed, so
+ * a rebuild either reads the user's row or receives the key; until then the
+ * unique constraints catch a duplicate. Deleted users leave their keys
+ * behind. Stale keys only cost extra queries; the filter is rebuilt from the database once its estimated
+ * false-positive rate is twice the target or a quarter of its users are
+ * gone.
+ */
+@Component
+public class SignupFilter implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String USER_NAME_PREFIX = "user:";
+
+    private final UserRepository userRepo;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final LongAdder definitelyFree = new LongAdder();
+    private final LongAdder confirmedTaken = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder staleUsers = new LongAdder();
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile long loadedUsers;
+
+    /**
+     * Creates a filter that is loaded from the user repository on startup.
+     *
+     * @param userRepo          repository the keys are loaded from
+     * @param expectedUsers     number of users the filter is sized for at
+     *                          least; it grows on rebuild
+     * @param falsePositiveRate target fraction of unseen keys that still
+     *                          need a query
+     */
+    public SignupFilter(UserRepository userRepo,
+            @Value("${pixelarium.signup-filter.expected-users:1000000}") long expectedUsers,
+            @Value("${pixelarium.signup-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Loads the keys of every user before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Checks whether an email is registered, querying the database only if
+     * the filter cannot rule it out.
+     *
+     * @param email  email address to check
+     * @param lookup database check for the exact email
+     * @return {@code true} if a user has the email
+     */
+    public boolean emailTaken(String email, Predicate<String> lookup) {
+        return taken(EMAIL_PREFIX + normalize(email), email, lookup);
+    }
+
+    /**
+     * Checks whether a user name is registered, querying the database only
+     * if the filter cannot rule it out.
+     *
+     * @param userName user name to check
+     * @param lookup   database check for the exact user name
+     * @return {@code true} if a user has the name
+     */
+    public boolean userNameTaken(String userName, Predicate<String> lookup) {
+        return taken(USER_NAME_PREFIX + normalize(userName), userName, lookup);
+    }
+
+    /**
+     * Adds the keys of a user whose create or change has committed.
+     *
+     * @param email    email address, or {@code null} if unchanged
+     * @param userName user name, or {@code null} if unchanged
+     */
+    public void add(String email, String userName) {
+        if (email != null) {
+            put(EMAIL_PREFIX + normalize(email));
+        }
+        if (userName != null) {
+            put(USER_NAME_PREFIX + normalize(userName));
+        }
+    }
+
+    /**
+     * Records that a user was deleted. Its keys stay in the filter until the
+     * next rebuild.
+     */
+    public void userDeleted() {
+        staleUsers.increment();
+    }
+
+    /**
+     * Rebuilds the filter when stale keys have made it noticeably less
+     * selective than configured.
+     */
+    @Scheduled(fixedDelayString = "${pixelarium.signup-filter.check-interval:10m}")
+    public void rebuildIfSaturated() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        if (current.estimatedFalsePositiveRate() > 2 * falsePositiveRate
+                || staleUsers.sum() * 4 > Math.max(1, loadedUsers)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Builds a new filter from the database, sized for at least twice the
+     * current users, and swaps it in. Keys added while the users are read go
+     * into both filters; the swap waits for keys being added, so none ends up
+     * only in the filter being replaced.
+     */
+    public synchronized void rebuild() {
+        long users = Math.max(expectedUsers, 2 * userRepo.count());
+        BloomFilter rebuilt = new BloomFilter(2 * users, falsePositiveRate);
+        swapLock.writeLock().lock();
+        try {
+            rebuilding = rebuilt;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        long stale = staleUsers.sum();
+        long loaded = 0;
+
+        List<UserKeyRow> rows;
+        long afterId = 0;
+        do {
+            rows = userRepo.findKeyRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            for (UserKeyRow row : rows) {
+                rebuilt.put(EMAIL_PREFIX + normalize(row.email()));
+                rebuilt.put(USER_NAME_PREFIX + normalize(row.userName()));
+                afterId = row.id();
+            }
+            loaded += rows.size();
+        } while (rows.size() == LOAD_BATCH_SIZE);
+
+        swapLock.writeLock().lock();
+        try {
+            filter = rebuilt;
+            rebuilding = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        loadedUsers = loaded;
+        staleUsers.add(-stale);
+    }
+
+    /**
+     * Returns the size, selectivity and usage counters of the filter.
+     *
+     * @return filter statistics
+     */
+    public SignupFilterStats stats() {
+        BloomFilter current = filter;
+        return new SignupFilterStats(current.getBits(), current.getHashFunctions(), current.memoryBytes(),
+                current.getInsertions(), falsePositiveRate, current.estimatedFalsePositiveRate(),
+                definitelyFree.sum(), confirmedTaken.sum(), falsePositives.sum(), staleUsers.sum());
+    }
+
+    private boolean taken(String key, String value, Predicate<String> lookup) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            definitelyFree.increment();
+            return false;
+        }
+        boolean taken = lookup.test(value);
+        if (taken) {
+            confirmedTaken.increment();
+        } else {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    /**
+     * Adds a key to the current filter and to the one being rebuilt. The
+     * read lock keeps a swap from happening between the two.
+     */
+    private void put(String key) {
+        swapLock.readLock().lock();
+        try {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(key);
+            }
+            BloomFilter next = rebuilding;
+            if (next != null) {
+                next.put(key);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
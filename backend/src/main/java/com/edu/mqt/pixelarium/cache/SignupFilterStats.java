@@ -0,0 +1,43 @@
+package com.edu.mqt.pixelarium.cache;
+
+/**
+ * Represents a point-in-time snapshot of the signup filter: its size, its
+ * selectivity and how many uniqueness checks it answered.
+ *
+ * @param bits                       size of the bit array
+ * @param hashFunctions              bits set per key
+ * @param memoryBytes                memory used by the bit array
+ * @param insertions                 keys added since the last rebuild
+ * @param targetFalsePositiveRate    configured false-positive rate
+ * @param estimatedFalsePositiveRate false-positive rate estimated from the
+ *                                   bits set
+ * @param definitelyFree             checks answered without a query
+ * @param confirmedTaken             checks whose query found the key
+ * @param falsePositives             checks whose query did not find the key
+ * @param staleUsers                 deleted users whose keys are still in
+ *                                   the filter
+ */
+public record SignupFilterStats(
+    long bits,
+    int hashFunctions,
+    long memoryBytes,
+    long insertions,
+    double targetFalsePositiveRate,
+    double estimatedFalsePositiveRate,
+    long definitelyFree,
+    long confirmedTaken,
+    long falsePositives,
+    long staleUsers
+) {
+
+    /**
+     * Returns the fraction of checks for unregistered keys that still needed
+     * a query.
+     *
+     * @return observed false-positive rate between {@code 0.0} and {@code 1.0}
+     */
+    public double observedFalsePositiveRate() {
+        long free = definitelyFree + falsePositives;
+        return free == 0 ? 0.0 : (double) falsePositives / free;
+    }
+}
@@ -0,0 +1,103 @@
+package com.edu.mqt.pixelarium.cache;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.model.entities.User;
+
+/**
+ * Maps emails and user names to user ids in memory, so that logins and
+ * lookups by either key load the user by id, which the second-level cache
+ * serves without a query. Only keys the database resolved are cached.
+ * <p>
+ * A cached id is trusted only if the user it loads still has the key; if
+ * not, the entry is dropped and the lookup falls back to the query. Writes
+ * to a user drop its entries up front as well, so a changed email or user
+ * name stops resolving at once.
+ */
+@Component
+public class UserLookupCache {
+
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String USER_NAME_PREFIX = "user:";
+
+    private final BoundedLruCache<String, Long> ids;
+
+    /**
+     * Creates a cache holding at most {@code maxSize} keys.
+     *
+     * @param maxSize maximum number of cached emails and user names
+     */
+    public UserLookupCache(@Value("${pixelarium.cache.user-keys.max-size:10000}") int maxSize) {
+        this.ids = new BoundedLruCache<>(maxSize);
+    }
+
+    /**
+     * Finds a user by email through the cached id, querying by email on a
+     * miss or a stale entry.
+     *
+     * @param email   email address to look up
+     * @param byId    loader of a user by id
+     * @param byEmail query by email
+     * @return the user with the email, if any
+     */
+    public Optional<User> findByEmail(String email, Function<Long, Optional<User>> byId,
+            Function<String, Optional<User>> byEmail) {
+        return find(EMAIL_PREFIX + email, byId, user -> user.getEmail().value().equalsIgnoreCase(email),
+                () -> byEmail.apply(email));
+    }
+
+    /**
+     * Finds a user by user name through the cached id, querying by name on a
+     * miss or a stale entry.
+     *
+     * @param userName   user name to look up
+     * @param byId       loader of a user by id
+     * @param byUserName query by user name
+     * @return the user with the name, if any
+     */
+    public Optional<User> findByUserName(String userName, Function<Long, Optional<User>> byId,
+            Function<String, Optional<User>> byUserName) {
+        return find(USER_NAME_PREFIX + userName, byId, user -> user.getUserName().equalsIgnoreCase(userName),
+                () -> byUserName.apply(userName));
+    }
+
+    /**
+     * Drops every key of a user that is about to change or be deleted.
+     *
+     * @param userId user identifier
+     */
+    public void invalidateUser(Long userId) {
+        ids.invalidateValues(userId::equals);
+    }
+
+    /**
+     * Returns the current cache usage counters.
+     *
+     * @return cache statistics snapshot
+     */
+    public CacheStats stats() {
+        return ids.stats();
+    }
+
+    private Optional<User> find(String key, Function<Long, Optional<User>> byId,
+            Predicate<User> hasKey, Supplier<Optional<User>> query) {
+        Long id = ids.get(key);
+        if (id != null) {
+            Optional<User> user = byId.apply(id).filter(hasKey);
+            if (user.isPresent()) {
+                return user;
+            }
+            ids.invalidate(key);
+        }
+
+        Optional<User> user = query.get();
+        user.ifPresent(found -> ids.put(key, found.getId()));
+        return user;
+    }
+}
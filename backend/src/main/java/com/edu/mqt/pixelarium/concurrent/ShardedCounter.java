@@ -0,0 +1,124 @@
+package com.edu.mqt.pixelarium.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Non-negative count of units split over several independent shards, so
+ * threads taking units at the same time mostly update different memory
+ * instead of retrying on one contended value. Shards sit on separate cache
+ * lines.
+ * <p>
+ * A take first tries whole shards starting from a random one. Only when no
+ * shard can cover the request alone are the units gathered from several
+ * shards, one gatherer at a time, so a request fails only if the shards
+ * together do not hold enough units.
+ */
+public class ShardedCounter {
+
+    /** Slots per shard: 16 ints fill a 64-byte cache line. */
+    private static final int STRIDE = 16;
+
+    private final int shards;
+    private final AtomicIntegerArray cells;
+
+    /**
+     * Creates a counter holding {@code total} units spread evenly over the
+     * shards.
+     *
+     * @param shards number of shards
+     * @param total  initial number of units
+     * @throws IllegalArgumentException if {@code shards} is not positive or
+     *                                  {@code total} is negative
+     */
+    public ShardedCounter(int shards, int total) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive!");
+        }
+        if (total < 0) {
+            throw new IllegalArgumentException("Total cannot be negative!");
+        }
+        this.shards = shards;
+        this.cells = new AtomicIntegerArray(shards * STRIDE);
+        for (int shard = 0; shard < shards; shard++) {
+            cells.set(shard * STRIDE, total / shards + (shard < total % shards ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes units if the counter holds enough of them.
+     *
+     * @param quantity units to take
+     * @return {@code true} if the units were taken, {@code false} if the
+     *         counter holds fewer than {@code quantity} units
+     */
+    public boolean tryTake(int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            int cell = ((start + i) % shards) * STRIDE;
+            int units = cells.get(cell);
+            while (units >= quantity) {
+                if (cells.compareAndSet(cell, units, units - quantity)) {
+                    return true;
+                }
+                units = cells.get(cell);
+            }
+        }
+        return gather(quantity);
+    }
+
+    /**
+     * Adds units to one of the shards.
+     *
+     * @param quantity units to add
+     */
+    public void give(int quantity) {
+        cells.addAndGet(ThreadLocalRandom.current().nextInt(shards) * STRIDE, quantity);
+    }
+
+    /**
+     * Returns the number of units across all shards.
+     *
+     * @return the current total
+     */
+    public int total() {
+        int total = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            total += cells.get(shard * STRIDE);
+        }
+        return total;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Takes units from as many shards as needed, giving them back if the
+     * shards together do not hold enough.
+     */
+    private synchronized boolean gather(int quantity) {
+        int[] taken = new int[shards];
+        int missing = quantity;
+        for (int shard = 0; shard < shards && missing > 0; shard++) {
+            int cell = shard * STRIDE;
+            int units = cells.get(cell);
+            while (units > 0) {
+                int take = Math.min(units, missing);
+                if (cells.compareAndSet(cell, units, units - take)) {
+                    taken[shard] = take;
+                    missing -= take;
+                    break;
+                }
+                units = cells.get(cell);
+            }
+        }
+        if (missing == 0) {
+            return true;
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            cells.addAndGet(shard * STRIDE, taken[shard]);
+        }
+        return false;
+    }
+}
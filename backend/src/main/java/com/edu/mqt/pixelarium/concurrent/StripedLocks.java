@@ -0,0 +1,88 @@
+package com.edu.mqt.pixelarium.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed set of locks shared by many keys. Each key maps to one stripe, so
+ * work on the same key is serialized while unrelated keys rarely contend.
+ * A stripe can also be held in shared mode by callers that may run together
+ * but must exclude the exclusive holders of the same keys.
+ */
+public class StripedLocks {
+
+    private final ReentrantReadWriteLock[] stripes;
+
+    /**
+     * Creates the given number of fair lock stripes.
+     *
+     * @param stripeCount number of stripes
+     * @throws IllegalArgumentException if {@code stripeCount} is not positive
+     */
+    public StripedLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive!");
+        }
+        this.stripes = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantReadWriteLock(true);
+        }
+    }
+
+    /**
+     * Acquires the stripes of every key exclusively. Stripes are always
+     * taken in ascending index order, so two callers locking overlapping key
+     * sets can never deadlock.
+     *
+     * @param keys keys to lock
+     * @return the acquired locks, to be released with {@link #unlockAll(List)}
+     */
+    public List<Lock> lockAll(Collection<Long> keys) {
+        return lockAll(keys, List.of());
+    }
+
+    /**
+     * Acquires the stripes of every key, in ascending index order. A stripe
+     * reached by both an exclusive and a shared key is taken exclusively.
+     *
+     * @param exclusive keys to lock exclusively
+     * @param shared    keys to lock in shared mode
+     * @return the acquired locks, to be released with {@link #unlockAll(List)}
+     */
+    public List<Lock> lockAll(Collection<Long> exclusive, Collection<Long> shared) {
+        TreeMap<Integer, Boolean> indexes = new TreeMap<>();
+        for (Long key : shared) {
+            indexes.put(stripeIndex(key), false);
+        }
+        for (Long key : exclusive) {
+            indexes.put(stripeIndex(key), true);
+        }
+
+        List<Lock> acquired = new ArrayList<>(indexes.size());
+        indexes.forEach((index, exclusiveMode) -> {
+            Lock lock = exclusiveMode ? stripes[index].writeLock() : stripes[index].readLock();
+            lock.lock();
+            acquired.add(lock);
+        });
+        return acquired;
+    }
+
+    /**
+     * Releases locks returned by {@code lockAll} in reverse acquisition order.
+     *
+     * @param locks locks to release
+     */
+    public void unlockAll(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeIndex(long key) {
+        return (int) Math.floorMod(Long.hashCode(key) * 0x9E3779B9L, (long) stripes.length);
+    }
+}
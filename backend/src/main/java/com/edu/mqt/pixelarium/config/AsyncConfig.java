@@ -0,0 +1,28 @@
+package com.edu.mqt.pixelarium.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sets how long streamed responses may run. {@code @EnableWebMvc} in
+ * {@link CorsConfig} turns off Spring Boot's {@code spring.mvc.async.*}
+ * properties, so the timeout is applied here.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final Duration streamingTimeout;
+
+    public AsyncConfig(@Value("${pixelarium.streaming.timeout:30m}") Duration streamingTimeout) {
+        this.streamingTimeout = streamingTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamingTimeout.toMillis());
+    }
+}
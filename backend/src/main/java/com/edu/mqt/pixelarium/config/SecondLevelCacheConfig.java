@@ -0,0 +1,78 @@
+package com.edu.mqt.pixelarium.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.edu.mqt.pixelarium.cache.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Creates the JCache regions of the Hibernate second-level cache, each with
+ * its own size bound and time to live, and hands them to Hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Creates a Caffeine-backed cache manager holding one cache per region.
+     *
+     * @param productMaxSize      maximum number of cached products
+     * @param productTtl          time a cached product is kept after it was written
+     * @param userMaxSize         maximum number of cached users
+     * @param userTtl             time a cached user is kept after it was written
+     * @param productQueryMaxSize maximum number of cached product query results
+     * @param productQueryTtl     time a cached product query result is kept
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager secondLevelCacheManager(
+            @Value("${pixelarium.second-level-cache.product.max-size:10000}") long productMaxSize,
+            @Value("${pixelarium.second-level-cache.product.ttl:10m}") Duration productTtl,
+            @Value("${pixelarium.second-level-cache.user.max-size:10000}") long userMaxSize,
+            @Value("${pixelarium.second-level-cache.user.ttl:30m}") Duration userTtl,
+            @Value("${pixelarium.second-level-cache.product-queries.max-size:1000}") long productQueryMaxSize,
+            @Value("${pixelarium.second-level-cache.product-queries.ttl:5m}") Duration productQueryTtl) {
+        // a provider of its own, so that every application context gets fresh regions
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(CacheRegions.PRODUCT, region(productMaxSize, productTtl));
+        cacheManager.createCache(CacheRegions.USER, region(userMaxSize, userTtl));
+        cacheManager.createCache(CacheRegions.PRODUCT_QUERIES, region(productQueryMaxSize, productQueryTtl));
+        cacheManager.createCache(CacheRegions.DEFAULT_QUERIES, region(100, Duration.ofMinutes(1)));
+        // evicting a timestamp could let a query cached before a write be served after it
+        cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * Makes Hibernate use the regions of {@link #secondLevelCacheManager}
+     * and fail on a region that has no cache instead of creating an
+     * unbounded one.
+     *
+     * @param secondLevelCacheManager cache manager holding the regions
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
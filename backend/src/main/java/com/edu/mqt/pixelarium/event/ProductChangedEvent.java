@@ -0,0 +1,25 @@
+package com.edu.mqt.pixelarium.event;
+
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+
+/**
+ * Published whenever a product is created, updated or deleted.
+ *
+ * @param productId identifier of the affected product
+ * @param product   snapshot of the product after the write, or {@code null}
+ *                  if the product was deleted
+ */
+public record ProductChangedEvent(
+    Long productId,
+    ProductDTOResponse product
+) {
+
+    /**
+     * Returns whether this event describes a deletion.
+     *
+     * @return {@code true} if the product no longer exists
+     */
+    public boolean isDeletion() {
+        return product == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a user is created or deleted.
+ *
+ * @param registerTime registration day of the user
+ * @param delta        {@code 1} for a created user, {@code -1} for a deleted one
+ */
+public record RegistrationChangedEvent(
+    LocalDate registerTime,
+    int delta
+) {}
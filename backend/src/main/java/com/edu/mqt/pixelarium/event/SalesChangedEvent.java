@@ -0,0 +1,15 @@
+package com.edu.mqt.pixelarium.event;
+
+import com.edu.mqt.pixelarium.sales.OrderSales;
+
+/**
+ * Published when an order write changes what the order contributes to the
+ * sales figures.
+ *
+ * @param before contribution before the write, or {@code null} for a new order
+ * @param after  contribution after the write, or {@code null} for a deleted order
+ */
+public record SalesChangedEvent(
+    OrderSales before,
+    OrderSales after
+) {}
@@ -0,0 +1,13 @@
+package com.edu.mqt.pixelarium.event;
+
+import java.util.Collection;
+
+/**
+ * Published when the stock of one or more products changes without any
+ * other product attribute changing.
+ *
+ * @param productIds identifiers of the affected products
+ */
+public record StockChangedEvent(
+    Collection<Long> productIds
+) {}
@@ -0,0 +1,9 @@
+package com.edu.mqt.pixelarium.exception;
+
+import java.util.List;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(List<Long> productIds) {
+        super("Not enough stock for products with ids: " + productIds);
+    }
+}
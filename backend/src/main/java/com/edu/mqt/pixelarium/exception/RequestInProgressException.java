@@ -0,0 +1,7 @@
+package com.edu.mqt.pixelarium.exception;
+
+public class RequestInProgressException extends RuntimeException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.edu.mqt.pixelarium.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.edu.mqt.pixelarium.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
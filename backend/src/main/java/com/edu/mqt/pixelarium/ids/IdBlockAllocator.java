@@ -0,0 +1,121 @@
+package com.edu.mqt.pixelarium.ids;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out entity ids from blocks reserved in the {@code id_blocks} table.
+ * A block is reserved with one short transaction and its ids are then served
+ * from memory, so most inserts need no round trip to number their rows.
+ * Reservations run on a small connection pool of their own: a transaction
+ * that needs an id never waits for a connection held by another transaction
+ * waiting on the same block. Ids stay unique across application instances;
+ * the only gaps are the unused rest of each block when the application stops
+ * and the ids of rolled back inserts.
+ */
+@Component
+public class IdBlockAllocator implements DisposableBean {
+
+    private static final String ADVANCE_BLOCK =
+            "UPDATE id_blocks SET next_id = next_id + ? WHERE table_name = ?";
+    private static final String SELECT_BLOCK = "SELECT next_id FROM id_blocks WHERE table_name = ?";
+    private static final String INSERT_BLOCK = "INSERT INTO id_blocks (table_name, next_id) VALUES (?, ?)";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an allocator that reserves blocks through its own connections
+     * to the application database.
+     *
+     * @param properties settings of the application data source
+     * @param blockSize  number of ids reserved per round trip
+     * @param poolSize   maximum number of connections used for reservations
+     */
+    public IdBlockAllocator(DataSourceProperties properties,
+            @Value("${pixelarium.ids.block-size:50}") int blockSize,
+            @Value("${pixelarium.ids.pool-size:2}") int poolSize) {
+        this.dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-blocks");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next free id of a table.
+     *
+     * @param table table whose rows are being numbered
+     * @return an id never returned before for that table
+     */
+    public long next(String table) {
+        return blocks.computeIfAbsent(table, Block::new).next();
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+
+    /**
+     * Reserves the next block of a table. The first reservation of a table
+     * starts after its highest existing id, so rows loaded with explicit ids
+     * are never reused.
+     *
+     * @return the first id of the block
+     */
+    private long reserve(String table) {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(ADVANCE_BLOCK, blockSize, table) == 0) {
+                    long start = jdbcTemplate.queryForObject(
+                            "SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+                    jdbcTemplate.update(INSERT_BLOCK, table, start + blockSize);
+                    return start;
+                }
+                return jdbcTemplate.queryForObject(SELECT_BLOCK, Long.class, table) - blockSize;
+            });
+        } catch (DuplicateKeyException e) {
+            // another instance created the row first; advance it instead
+            return reserve(table);
+        }
+    }
+
+    /**
+     * Ids of the current block of one table.
+     */
+    private final class Block {
+
+        private final String table;
+        private long next;
+        private long end;
+
+        Block(String table) {
+            this.table = table;
+        }
+
+        synchronized long next() {
+            if (next == end) {
+                next = reserve(table);
+                end = next + blockSize;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.edu.mqt.pixelarium.ids;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.internal.FallbackBeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBean;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+/**
+ * Hibernate generator behind {@link PooledId}. Ids are taken from the
+ * {@link IdBlockAllocator} bean, keyed by the table of the entity.
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    /**
+     * Asks the bean container for the shared allocator; JPA-compliant
+     * creation would build a private instance with blocks of its own.
+     */
+    private static final BeanContainer.LifecycleOptions SHARED_BEAN = new BeanContainer.LifecycleOptions() {
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+    };
+
+    private final String table;
+    private final ManagedBean<IdBlockAllocator> allocator;
+
+    /**
+     * Creates the generator of one entity id. Called by Hibernate.
+     *
+     * @param config  annotation on the id
+     * @param member  annotated id field or getter
+     * @param context mapping of the entity
+     */
+    public PooledIdGenerator(PooledId config, Member member, GeneratorCreationContext context) {
+        this.table = context.getPersistentClass().getTable().getName();
+        this.allocator = context.getServiceRegistry()
+                .requireService(ManagedBeanRegistry.class)
+                .getBeanContainer()
+                .getBean(IdBlockAllocator.class, SHARED_BEAN, FallbackBeanInstanceProducer.INSTANCE);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return allocator.getBeanInstance().next(table);
+    }
+}
@@ -0,0 +1,182 @@
+package com.edu.mqt.pixelarium.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Reads comma-separated product records. The first line is a header naming
+ * the columns in any order: {@code name}, {@code description}, {@code price},
+ * {@code stock} and {@code category} are required, {@code salePrice} and
+ * {@code imagePath} are optional (snake case is accepted too). Fields may be
+ * quoted with {@code "}, in which case they can contain commas, doubled
+ * quotes and line breaks. Empty fields are read as missing values.
+ */
+public class CsvProductRowReader implements ProductRowReader {
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("name", "description", "price", "stock", "category");
+    private static final Set<String> OPTIONAL_COLUMNS = Set.of("saleprice", "imagepath");
+
+    private final BufferedReader input;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber;
+
+    /**
+     * Creates a reader over the given input and reads its header.
+     *
+     * @param input comma-separated input
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if the header is missing, names an
+     *                                  unknown column or lacks a required one
+     */
+    public CsvProductRowReader(BufferedReader input) throws IOException {
+        this.input = input;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import requires a header line");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            if (!REQUIRED_COLUMNS.contains(column) && !OPTIONAL_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+            }
+            columns.put(column, i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing CSV column: " + column);
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> fields;
+        long startLine;
+        do {
+            startLine = lineNumber + 1;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.getFirst().isBlank());
+
+        if (fields.size() != columns.size()) {
+            return new ImportRow(startLine, null,
+                    "Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        try {
+            return new ImportRow(startLine, new CreateProductDTORequest(
+                    field(fields, "name"),
+                    field(fields, "description"),
+                    decimal(fields, "price"),
+                    decimal(fields, "saleprice"),
+                    field(fields, "imagepath"),
+                    integer(fields, "stock"),
+                    category(fields)), null);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(startLine, null, e.getMessage());
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal decimal(List<String> fields, String column) {
+        String value = field(fields, column);
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private Integer integer(List<String> fields, String column) {
+        String value = field(fields, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private Category category(List<String> fields) {
+        String value = field(fields, "category");
+        try {
+            return value == null ? null : Category.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown category: " + value);
+        }
+    }
+
+    /**
+     * Reads one record, continuing onto the next lines while a quoted field
+     * is open.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        String line = input.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String nextLine = input.readLine();
+                if (nextLine == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+                line = nextLine;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.edu.mqt.pixelarium.imports;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the results of an import one batch at a time, as soon as each
+ * batch is committed, so they can be streamed to the client.
+ */
+@FunctionalInterface
+public interface ImportListener {
+
+    /**
+     * Handles the results of one batch, in input order.
+     *
+     * @param results result of every record of the batch
+     * @throws IOException if the results cannot be written
+     */
+    void onBatch(List<ImportResult> results) throws IOException;
+}
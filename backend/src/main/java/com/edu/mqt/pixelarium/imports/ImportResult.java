@@ -0,0 +1,52 @@
+package com.edu.mqt.pixelarium.imports;
+
+/**
+ * Outcome of importing one record, reported back to the client.
+ *
+ * @param line   line number where the record starts
+ * @param status what happened to the record
+ * @param id     identifier of the created product, or {@code null}
+ * @param error  reason the record was not imported, or {@code null}
+ */
+public record ImportResult(
+    long line,
+    Status status,
+    Long id,
+    String error
+) {
+
+    /**
+     * Outcome of one imported record.
+     */
+    public enum Status {
+        /** The product was created. */
+        CREATED,
+        /** The record broke a validation rule and was skipped. */
+        REJECTED,
+        /** The record was valid but its batch could not be written. */
+        FAILED
+    }
+
+    /**
+     * Creates the result of a created product.
+     *
+     * @param line line number of the record
+     * @param id   identifier of the created product
+     * @return the result
+     */
+    public static ImportResult created(long line, Long id) {
+        return new ImportResult(line, Status.CREATED, id, null);
+    }
+
+    /**
+     * Creates the result of a record that was not imported.
+     *
+     * @param line   line number of the record
+     * @param status {@link Status#REJECTED} or {@link Status#FAILED}
+     * @param error  reason the record was not imported
+     * @return the result
+     */
+    public static ImportResult skipped(long line, Status status, String error) {
+        return new ImportResult(line, status, null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.edu.mqt.pixelarium.imports;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+
+/**
+ * One record read from an import file.
+ *
+ * @param line    line number where the record starts, counting from 1
+ * @param product parsed product, or {@code null} if the record could not be parsed
+ * @param error   reason the record could not be parsed, or {@code null}
+ */
+public record ImportRow(
+    long line,
+    CreateProductDTORequest product,
+    String error
+) {}
@@ -0,0 +1,49 @@
+package com.edu.mqt.pixelarium.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads one {@link CreateProductDTORequest} JSON document per line, skipping
+ * blank lines.
+ */
+public class NdjsonProductRowReader implements ProductRowReader {
+
+    private final BufferedReader input;
+    private final JsonMapper jsonMapper;
+    private long lineNumber;
+
+    /**
+     * Creates a reader over the given input.
+     *
+     * @param input      newline-delimited JSON input
+     * @param jsonMapper mapper used to parse each line
+     */
+    public NdjsonProductRowReader(BufferedReader input, JsonMapper jsonMapper) {
+        this.input = input;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = input.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return new ImportRow(lineNumber, jsonMapper.readValue(line, CreateProductDTORequest.class), null);
+        } catch (JacksonException e) {
+            return new ImportRow(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
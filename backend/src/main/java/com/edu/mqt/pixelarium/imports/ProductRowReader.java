@@ -0,0 +1,18 @@
+package com.edu.mqt.pixelarium.imports;
+
+import java.io.IOException;
+
+/**
+ * Reads import records one at a time from a character stream.
+ */
+public interface ProductRowReader {
+
+    /**
+     * Reads the next record. A record that cannot be parsed is returned with
+     * an error instead of ending the import.
+     *
+     * @return the next record, or {@code null} at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    ImportRow next() throws IOException;
+}
@@ -81,9 +81,12 @@ public class EntityToDtoMapper {
             product.getDescription(),
             product.getPrice(),
             product.getSalePrice(),
+            product.getEffectivePrice(),
+            product.getDiscountPercentage(),
             product.getImagePath(),
             product.getStock(),
-            product.getCategory()
+            product.getCategory(),
+            product.getVersion()
         );
     }
 
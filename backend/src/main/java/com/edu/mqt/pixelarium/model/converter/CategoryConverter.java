@@ -0,0 +1,24 @@
+package com.edu.mqt.pixelarium.model.converter;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Category} as its one-byte id instead of its name, which
+ * keeps the {@code category} column and the indexes leading with it narrow.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<Category, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Category category) {
+        return category == null ? null : (byte) category.getId();
+    }
+
+    @Override
+    public Category convertToEntityAttribute(Byte id) {
+        return id == null ? null : Category.fromId(id);
+    }
+}
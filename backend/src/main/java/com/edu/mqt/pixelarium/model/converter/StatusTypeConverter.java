@@ -0,0 +1,24 @@
+package com.edu.mqt.pixelarium.model.converter;
+
+import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link StatusType} as its one-byte id instead of its name, which
+ * keeps the {@code status} column and the indexes leading with it narrow.
+ */
+@Converter
+public class StatusTypeConverter implements AttributeConverter<StatusType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(StatusType status) {
+        return status == null ? null : (byte) status.getId();
+    }
+
+    @Override
+    public StatusType convertToEntityAttribute(Byte id) {
+        return id == null ? null : StatusType.fromId(id);
+    }
+}
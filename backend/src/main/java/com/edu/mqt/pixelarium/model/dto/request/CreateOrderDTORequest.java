@@ -2,12 +2,14 @@ package com.edu.mqt.pixelarium.model.dto.request;
 
 import java.util.List;
 
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 
 /**
  * Represents an order creation request payload.
  */
 public record CreateOrderDTORequest(
-        @NotBlank(message = "User id is required.") Long userId,
-        @NotBlank(message = "At least, one item is required to create an order.") List<OrderItemDTORequest> items) {
+        @NotNull(message = "User id is required.") Long userId,
+        @NotEmpty(message = "At least, one item is required to create an order.") List<@Valid OrderItemDTORequest> items) {
 }
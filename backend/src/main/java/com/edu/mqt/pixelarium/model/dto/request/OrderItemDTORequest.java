@@ -1,12 +1,13 @@
 package com.edu.mqt.pixelarium.model.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 /**
  * Represents a requested order item in create-order payloads.
  */
 public record OrderItemDTORequest(
-        @NotBlank(message = "You must specify the product from the list.") Long productId,
+        @NotNull(message = "You must specify the product from the list.") Long productId,
 
-        @NotBlank(message = "You must specify how many items you want to order.") int quantity) {
+        @Positive(message = "You must specify how many items you want to order.") int quantity) {
 }
@@ -0,0 +1,23 @@
+package com.edu.mqt.pixelarium.model.dto.request;
+
+import java.math.BigDecimal;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Represents a partial product update payload. {@code null} fields keep
+ * their current value; a {@code version} makes the update conditional on it.
+ * A {@code null} sale price keeps the sale running, so
+ * {@code clearSalePrice} ends it instead.
+ */
+public record UpdateProductDTORequest(
+        Long version,
+        String name,
+        String description,
+        BigDecimal price,
+        BigDecimal salePrice,
+        Boolean clearSalePrice,
+        String imagePath,
+        Integer stock,
+        Category category) {
+}
@@ -0,0 +1,20 @@
+package com.edu.mqt.pixelarium.model.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents a partial user update payload. {@code null} fields keep their
+ * current value; a {@code version} makes the update conditional on it.
+ */
+public record UpdateUserDTORequest(
+        Long version,
+
+        @Email(message = "Invalid email format") String email,
+
+        @Size(min = 8, message = "Password must be at least 8 characters long.") String password,
+
+        String firstName,
+        String lastName,
+        String userName) {
+}
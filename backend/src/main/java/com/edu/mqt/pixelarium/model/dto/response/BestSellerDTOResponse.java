@@ -0,0 +1,12 @@
+package com.edu.mqt.pixelarium.model.dto.response;
+
+/**
+ * Represents a best-selling product in response payloads.
+ *
+ * @param product   product details
+ * @param unitsSold units sold across all orders
+ */
+public record BestSellerDTOResponse(
+    ProductDTOResponse product,
+    long unitsSold
+) {}
@@ -0,0 +1,18 @@
+package com.edu.mqt.pixelarium.model.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a running flash sale in response payloads.
+ *
+ * @param productId product on flash sale
+ * @param shards    number of counters its stock is split into
+ * @param stock     units left
+ * @param startedAt when the flash sale started
+ */
+public record FlashSaleDTOResponse(
+    Long productId,
+    int shards,
+    int stock,
+    LocalDateTime startedAt
+) {}
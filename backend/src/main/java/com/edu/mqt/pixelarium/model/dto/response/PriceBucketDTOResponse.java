@@ -0,0 +1,19 @@
+package com.edu.mqt.pixelarium.model.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the facet count of one price bucket in response payloads.
+ *
+ * @param bucket bucket number, usable as the {@code bucket} filter
+ * @param min    lowest effective price (inclusive)
+ * @param max    highest effective price (exclusive), or {@code null} for no
+ *               upper bound
+ * @param count  number of products in the bucket
+ */
+public record PriceBucketDTOResponse(
+    int bucket,
+    BigDecimal min,
+    BigDecimal max,
+    long count
+) {}
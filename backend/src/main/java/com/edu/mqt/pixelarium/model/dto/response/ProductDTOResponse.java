@@ -13,7 +13,10 @@ public record ProductDTOResponse(
     String description,
     BigDecimal price,
     BigDecimal salePrice,
+    BigDecimal effectivePrice,
+    BigDecimal discountPercentage,
     String imagePath,
     Integer stock,
-    Category category
+    Category category,
+    long version
 ) {}
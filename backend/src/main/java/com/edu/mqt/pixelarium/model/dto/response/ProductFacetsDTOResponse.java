@@ -0,0 +1,26 @@
+package com.edu.mqt.pixelarium.model.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Represents faceted product results in response payloads. Each facet is
+ * counted with every other filter applied, but not its own.
+ *
+ * @param products     first matching products
+ * @param total        number of matching products
+ * @param categories   count per category
+ * @param priceBuckets count per effective-price bucket
+ * @param onSale       count of products with a sale price
+ * @param notOnSale    count of products without a sale price
+ */
+public record ProductFacetsDTOResponse(
+    List<ProductDTOResponse> products,
+    long total,
+    Map<Category, Long> categories,
+    List<PriceBucketDTOResponse> priceBuckets,
+    long onSale,
+    long notOnSale
+) {}
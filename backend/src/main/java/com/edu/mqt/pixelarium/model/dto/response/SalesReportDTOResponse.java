@@ -0,0 +1,18 @@
+package com.edu.mqt.pixelarium.model.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents one row of a sales report in response payloads.
+ *
+ * @param key     day, status or category the row summarizes
+ * @param orders  number of orders
+ * @param units   number of units sold
+ * @param revenue revenue of the units sold
+ */
+public record SalesReportDTOResponse(
+    String key,
+    long orders,
+    long units,
+    BigDecimal revenue
+) {}
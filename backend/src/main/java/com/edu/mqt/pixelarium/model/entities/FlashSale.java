@@ -0,0 +1,53 @@
+package com.edu.mqt.pixelarium.model.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Marks a product whose stock is served from sharded in-memory counters
+ * instead of its {@code stock} column while a launch or flash sale runs.
+ */
+@Entity
+@Table(name = "flash_sales")
+public class FlashSale {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private int shards;
+
+    @Column(nullable = false, name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * Creates an empty flash sale for JPA.
+     */
+    public FlashSale() {}
+
+    /**
+     * Creates a flash sale starting now.
+     *
+     * @param productId product on flash sale
+     * @param shards    number of counters its stock is split into
+     */
+    public FlashSale(Long productId, int shards) {
+        this.productId = productId;
+        this.shards = shards;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+}
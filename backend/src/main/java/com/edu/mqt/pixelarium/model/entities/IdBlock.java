@@ -0,0 +1,35 @@
+package com.edu.mqt.pixelarium.model.entities;
+
+import com.edu.mqt.pixelarium.ids.IdBlockAllocator;
+
+import jakarta.persistence.*;
+
+/**
+ * Next unreserved id of a table numbered by {@link IdBlockAllocator}. Rows
+ * are only written by the allocator; the mapping exists so the table is part
+ * of the generated schema.
+ */
+@Entity
+@Table(name = "id_blocks")
+public class IdBlock {
+
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    @Column(name = "next_id", nullable = false)
+    private long nextId;
+
+    /**
+     * Creates an empty block row for JPA.
+     */
+    public IdBlock() {}
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public long getNextId() {
+        return nextId;
+    }
+}
@@ -5,6 +5,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.edu.mqt.pixelarium.ids.PooledId;
 import com.edu.mqt.pixelarium.model.vo.Status;
 
 import jakarta.persistence.*;
@@ -13,15 +18,22 @@ import jakarta.persistence.*;
  * Represents a persisted order and its line items.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_id", columnList = "status, id"),
+    @Index(name = "idx_orders_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_orders_date_id", columnList = "order_date, id"),
+    @Index(name = "idx_orders_user_date", columnList = "user_id, order_date, id"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date, id")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @Column(nullable = false, name = "order_date")
@@ -38,6 +50,11 @@ public class Order {
                fetch = FetchType.LAZY, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Creates an order with the current timestamp as the order date.
      */
@@ -130,4 +147,12 @@ public class Order {
     public void setOrderItems(List<OrderItem> orderItems) {
         this.orderItems = orderItems;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
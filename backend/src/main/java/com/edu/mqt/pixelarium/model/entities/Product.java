@@ -4,6 +4,14 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GeneratedColumn;
+
+import com.edu.mqt.pixelarium.cache.CacheRegions;
+import com.edu.mqt.pixelarium.ids.PooledId;
+import com.edu.mqt.pixelarium.model.converter.CategoryConverter;
 import com.edu.mqt.pixelarium.model.enumerated.Category;
 
 import jakarta.persistence.*;
@@ -12,11 +20,19 @@ import jakarta.persistence.*;
  * Represents a catalog product and its pricing details.
  */
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = {
+    @Index(name = "idx_product_category_id", columnList = "category, id"),
+    @Index(name = "idx_product_effective_price_id", columnList = "effective_price, id"),
+    @Index(name = "idx_product_category_effective_price", columnList = "category, effective_price, id"),
+    @Index(name = "idx_product_discount_id", columnList = "discount_percentage DESC, id"),
+    @Index(name = "idx_product_category_discount", columnList = "category, discount_percentage DESC, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT)
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
 
     @OneToMany(mappedBy = "productId", cascade = CascadeType.ALL,
@@ -35,16 +51,30 @@ public class Product {
     @Column(nullable = true, name = "sale_price")
     private BigDecimal salePrice;
 
+    @Column(name = "effective_price", insertable = false, updatable = false)
+    @GeneratedColumn("coalesce(sale_price, price)")
+    private BigDecimal effectivePrice;
+
+    @Column(name = "discount_percentage", precision = 5, scale = 2, insertable = false, updatable = false)
+    @GeneratedColumn("case when sale_price is null or price = 0 then 0 "
+            + "else round((price - sale_price) * 100 / price, 2) end")
+    private BigDecimal discountPercentage;
+
     @Column(nullable = true, length = 255, name = "image_path")
     private String imagePath;
 
     @Column(nullable = false)
     private Integer stock;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = CategoryConverter.class)
     @Column(nullable = false)
     private Category category;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Creates an empty product for JPA.
      */
@@ -114,6 +144,27 @@ public class Product {
         this.salePrice = salePrice;
     }
 
+    /**
+     * Returns what a customer pays: the sale price when there is one,
+     * otherwise the regular price. Maintained by the database.
+     *
+     * @return the effective price
+     */
+    public BigDecimal getEffectivePrice() {
+        return effectivePrice;
+    }
+
+    /**
+     * Returns how much cheaper the sale price is than the regular price, as
+     * a percentage rounded to two decimals, or zero when not on sale.
+     * Maintained by the database.
+     *
+     * @return the discount percentage
+     */
+    public BigDecimal getDiscountPercentage() {
+        return discountPercentage;
+    }
+
     public String getImagePath() {
         return imagePath;
     }
@@ -137,4 +188,12 @@ public class Product {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,85 @@
+package com.edu.mqt.pixelarium.model.entities;
+
+import java.math.BigDecimal;
+
+import com.edu.mqt.pixelarium.sales.SalesTotals;
+
+import jakarta.persistence.*;
+
+/**
+ * Represents the order count, units and revenue of one day for one status or
+ * one category. Rows are maintained incrementally as orders change, so
+ * dashboards read one row per day instead of every order.
+ */
+@Entity
+@Table(name = "sales_aggregates", indexes = {
+    @Index(name = "idx_sales_dimension_date", columnList = "dimension, sale_date")
+})
+public class SalesAggregate {
+
+    @EmbeddedId
+    private SalesAggregateId id;
+
+    @Column(nullable = false, name = "order_count")
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    /**
+     * Creates an empty aggregate for JPA.
+     */
+    public SalesAggregate() {}
+
+    /**
+     * Creates an aggregate with the provided totals.
+     *
+     * @param id     aggregate identifier
+     * @param totals initial totals
+     */
+    public SalesAggregate(SalesAggregateId id, SalesTotals totals) {
+        this.id = id;
+        this.orderCount = totals.orders();
+        this.units = totals.units();
+        this.revenue = totals.revenue();
+    }
+
+    /**
+     * Adds a delta to the stored totals.
+     *
+     * @param delta totals to add, possibly negative
+     */
+    public void add(SalesTotals delta) {
+        this.orderCount += delta.orders();
+        this.units += delta.units();
+        this.revenue = this.revenue.add(delta.revenue());
+    }
+
+    /**
+     * Returns the stored totals.
+     *
+     * @return the totals of this row
+     */
+    public SalesTotals totals() {
+        return new SalesTotals(orderCount, units, revenue);
+    }
+
+    public SalesAggregateId getId() {
+        return id;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,78 @@
+package com.edu.mqt.pixelarium.model.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.edu.mqt.pixelarium.model.enumerated.SalesDimension;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+/**
+ * Identifies one sales aggregate row: a day, a dimension and the value of
+ * that dimension (a status or category name).
+ */
+@Embeddable
+public class SalesAggregateId implements Serializable {
+
+    @Column(nullable = false, name = "sale_date")
+    private LocalDate saleDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SalesDimension dimension;
+
+    @Column(nullable = false, length = 32, name = "dimension_value")
+    private String dimensionValue;
+
+    /**
+     * Creates an empty identifier for JPA.
+     */
+    public SalesAggregateId() {}
+
+    /**
+     * Creates an identifier with the provided parts.
+     *
+     * @param saleDate       day the sales belong to
+     * @param dimension      dimension of the aggregate
+     * @param dimensionValue status or category name
+     */
+    public SalesAggregateId(LocalDate saleDate, SalesDimension dimension, String dimensionValue) {
+        this.saleDate = saleDate;
+        this.dimension = dimension;
+        this.dimensionValue = dimensionValue;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public SalesDimension getDimension() {
+        return dimension;
+    }
+
+    public String getDimensionValue() {
+        return dimensionValue;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SalesAggregateId that)) {
+            return false;
+        }
+        return Objects.equals(saleDate, that.saleDate)
+                && dimension == that.dimension
+                && Objects.equals(dimensionValue, that.dimensionValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, dimension, dimensionValue);
+    }
+}
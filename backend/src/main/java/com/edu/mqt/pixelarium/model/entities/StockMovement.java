@@ -0,0 +1,56 @@
+package com.edu.mqt.pixelarium.model.entities;
+
+import com.edu.mqt.pixelarium.ids.PooledId;
+
+import jakarta.persistence.*;
+
+/**
+ * Stock change of a flash-sale product that is not yet applied to the
+ * product's {@code stock} column. Checkouts append movements instead of
+ * updating the product row, and movements are folded into the row
+ * periodically.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = {
+    @Index(name = "idx_stock_movements_product", columnList = "product_id")
+})
+public class StockMovement {
+
+    @Id
+    @PooledId
+    private Long id;
+
+    @Column(nullable = false, name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    /**
+     * Creates an empty movement for JPA.
+     */
+    public StockMovement() {}
+
+    /**
+     * Creates a movement of the given units.
+     *
+     * @param productId product whose stock changes
+     * @param quantity  units added, or taken when negative
+     */
+    public StockMovement(Long productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
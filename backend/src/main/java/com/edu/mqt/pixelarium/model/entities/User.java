@@ -4,6 +4,12 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.edu.mqt.pixelarium.cache.CacheRegions;
+import com.edu.mqt.pixelarium.ids.PooledId;
 import com.edu.mqt.pixelarium.model.vo.Email;
 
 import jakarta.persistence.*;
@@ -12,11 +18,15 @@ import jakarta.persistence.*;
  * Represents a registered user and their profile data.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_register_time_id", columnList = "register_time, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
 
     @OneToMany(mappedBy = "user",
@@ -26,7 +36,7 @@ public class User {
     @Column(nullable = false, length = 55, unique = true, name = "user_name")
     private String userName;
 
-    @Column(nullable = false, length = 55)
+    @Column(nullable = false, length = 100)
     private String password;
 
     @Column(nullable = false, length = 55)
@@ -36,12 +46,17 @@ public class User {
     private String surname;
 
     @Embedded
-    @AttributeOverride(name = "value", column = @Column(name = "email", nullable = false, length = 255))
+    @AttributeOverride(name = "value", column = @Column(name = "email", nullable = false, length = 255, unique = true))
     private Email email;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDate registerTime;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Creates an empty user for JPA.
      */
@@ -124,4 +139,12 @@ public class User {
     public void setRegisterTime(LocalDate registerTime) {
         this.registerTime = registerTime;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,23 +1,47 @@
 package com.edu.mqt.pixelarium.model.enumerated;
 
 /**
- * Enumerates product categories and their display metadata.
+ * Enumerates product categories and their display metadata. Each category
+ * is stored by its {@code id} (see {@code CategoryConverter}), so ids must
+ * never be reused or changed once rows carry them.
  */
 public enum Category {
-    APPLE("APPL", "Apple"),
-    NINTENDO_SWITCH("NSW", "Nintendo Switch"),
-    NINTENDO_SWITCH_2("NSW2", "Nintendo Switch 2"),
-    PC("PC", "PC"),
-    ACCESSORIES("ACSS", "Accessories");
+    APPLE(1, "APPL", "Apple"),
+    NINTENDO_SWITCH(2, "NSW", "Nintendo Switch"),
+    NINTENDO_SWITCH_2(3, "NSW2", "Nintendo Switch 2"),
+    PC(4, "PC", "PC"),
+    ACCESSORIES(5, "ACSS", "Accessories");
 
+    private final int id;
     private String code;
     private String description;
 
-    private Category(String code, String description) {
+    private Category(int id, String code, String description) {
+        this.id = id;
         this.code = code;
         this.description = description;
     }
 
+    /**
+     * Returns the category stored under the given id.
+     *
+     * @param id stored category id
+     * @return the matching category
+     * @throws IllegalArgumentException if no category has that id
+     */
+    public static Category fromId(int id) {
+        for (Category category : values()) {
+            if (category.id == id) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("Unknown category id: " + id);
+    }
+
+    public int getId() {
+        return id;
+    }
+
     public String getCode() {
         return code;
     }
@@ -0,0 +1,9 @@
+package com.edu.mqt.pixelarium.model.enumerated;
+
+/**
+ * Enumerates the dimensions sales aggregates are kept for.
+ */
+public enum SalesDimension {
+    STATUS,
+    CATEGORY
+}
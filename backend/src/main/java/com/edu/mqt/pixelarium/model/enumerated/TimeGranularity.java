@@ -0,0 +1,10 @@
+package com.edu.mqt.pixelarium.model.enumerated;
+
+/**
+ * Enumerates the bucket widths of time histograms. Weeks start on Monday.
+ */
+public enum TimeGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -1,9 +1,10 @@
 package com.edu.mqt.pixelarium.model.vo;
 
+import com.edu.mqt.pixelarium.model.converter.StatusTypeConverter;
+
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Embeddable;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
 
 /**
  * Represents the embeddable status value of an order.
@@ -11,27 +12,50 @@ import jakarta.persistence.Enumerated;
 @Embeddable
 public class Status {
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = StatusTypeConverter.class)
     @Column(name = "status")
     private StatusType status;
 
     /**
-     * Enumerates the supported status types.
+     * Enumerates the supported status types. Each type is stored by its
+     * {@code id}, so ids must never be reused or changed once rows carry them.
      */
     public enum StatusType {
-        DRAFT("DF", "Draft"),
-        PENDING("PD", "Pending"),
-        SENT("ST", "Sent"),
-        DELIVERED("DV", "Delivered");
+        DRAFT(1, "DF", "Draft"),
+        PENDING(2, "PD", "Pending"),
+        SENT(3, "ST", "Sent"),
+        DELIVERED(4, "DV", "Delivered");
 
+        private final int id;
         private String code;
         private String description;
         
-        private StatusType(String code, String description) {
+        private StatusType(int id, String code, String description) {
+            this.id = id;
             this.code = code;
             this.description = description;
         }
 
+        /**
+         * Returns the status type stored under the given id.
+         *
+         * @param id stored status id
+         * @return the matching status type
+         * @throws IllegalArgumentException if no status type has that id
+         */
+        public static StatusType fromId(int id) {
+            for (StatusType type : values()) {
+                if (type.id == id) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown status id: " + id);
+        }
+
+        public int getId() {
+            return id;
+        }
+
         public String getCode() {
             return code;
         }
@@ -0,0 +1,61 @@
+package com.edu.mqt.pixelarium.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, used as the seek predicate
+ * {@code (sortKey, id) > (cursor.sortKey, cursor.id)} for the next page.
+ * It travels to clients as an opaque URL-safe token.
+ *
+ * @param sortKey value of the sort column of the last row, or {@code null}
+ *                when the listing is ordered by id alone
+ * @param id      identifier of the last row
+ */
+public record Cursor(
+    String sortKey,
+    long id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Creates a cursor for listings ordered by id alone.
+     *
+     * @param id identifier of the last row
+     * @return the cursor
+     */
+    public static Cursor afterId(long id) {
+        return new Cursor(null, id);
+    }
+
+    /**
+     * Encodes the cursor into an opaque token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = sortKey == null ? Long.toString(id) : sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token opaque token received from a client
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return afterId(Long.parseLong(raw));
+            }
+            return new Cursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.edu.mqt.pixelarium.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents one page of a keyset-paginated listing.
+ *
+ * @param <T>        item type
+ * @param items      items of the page
+ * @param nextCursor opaque token for the next page, or {@code null} on the
+ *                   last page
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1};
+     * the extra row only signals that another page exists.
+     *
+     * @param rows     fetched rows, at most {@code pageSize + 1}
+     * @param pageSize requested page size
+     * @param cursorOf function returning the cursor of a row
+     * @param mapper   function mapping rows to page items
+     * @param <E>      row type
+     * @param <T>      item type
+     * @return the page
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize, Function<E, Cursor> cursorOf,
+            Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageSize - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
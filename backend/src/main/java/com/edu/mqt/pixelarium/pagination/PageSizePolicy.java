@@ -0,0 +1,44 @@
+package com.edu.mqt.pixelarium.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the page size requested by clients against the configured
+ * default and upper bound.
+ */
+@Component
+public class PageSizePolicy {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    /**
+     * Creates a policy with the given limits.
+     *
+     * @param defaultPageSize page size used when the client does not ask for one
+     * @param maxPageSize     largest page size a client may request
+     */
+    public PageSizePolicy(@Value("${pixelarium.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${pixelarium.pagination.max-page-size:200}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns the page size to use for a request.
+     *
+     * @param requested page size requested by the client, or {@code null}
+     * @return the effective page size
+     * @throws IllegalArgumentException if the requested size is not positive
+     */
+    public int resolve(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Page size must be positive!");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
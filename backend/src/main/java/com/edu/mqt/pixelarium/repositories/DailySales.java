@@ -0,0 +1,22 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales of one day for one status or category, as summed from the orders
+ * table.
+ *
+ * @param day     day the orders were placed
+ * @param key     status or category
+ * @param orders  number of orders
+ * @param units   number of units sold
+ * @param revenue revenue of the units sold
+ */
+public record DailySales(
+    LocalDate day,
+    Enum<?> key,
+    Long orders,
+    Long units,
+    BigDecimal revenue
+) {}
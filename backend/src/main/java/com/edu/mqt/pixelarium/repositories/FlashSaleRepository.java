@@ -0,0 +1,11 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.edu.mqt.pixelarium.model.entities.FlashSale;
+
+/**
+ * Provides persistence operations for {@link FlashSale} rows.
+ */
+public interface FlashSaleRepository extends JpaRepository<FlashSale, Long> {
+}
@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of an order in date-ordered listings.
+ *
+ * @param id        order identifier
+ * @param orderDate order date-time
+ */
+public record OrderDateKey(
+    Long id,
+    LocalDateTime orderDate
+) {}
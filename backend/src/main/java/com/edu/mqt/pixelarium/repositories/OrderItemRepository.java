@@ -1,12 +1,34 @@
 package com.edu.mqt.pixelarium.repositories;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.edu.mqt.pixelarium.model.entities.OrderItem;
+import com.edu.mqt.pixelarium.sales.SalesLine;
 
 /**
  * Provides persistence operations for {@link OrderItem} entities.
  */
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    /**
+     * Sums the lines of one order per product.
+     *
+     * @param orderId order identifier
+     * @return units and revenue of the order per product
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.sales.SalesLine(p.id, p.category, SUM(i.quantity), SUM(i.unitPrice * i.quantity)) " +
+           "FROM OrderItem i JOIN i.productId p WHERE i.orderId.id = :orderId GROUP BY p.id, p.category")
+    List<SalesLine> findSalesLinesByOrderId(@Param("orderId") Long orderId);
 
+    /**
+     * Sums the lines of all orders per product.
+     *
+     * @return units and revenue of every product that has been ordered
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.sales.SalesLine(p.id, p.category, SUM(i.quantity), SUM(i.unitPrice * i.quantity)) " +
+           "FROM OrderItem i JOIN i.productId p GROUP BY p.id, p.category")
+    List<SalesLine> sumSalesByProduct();
 }
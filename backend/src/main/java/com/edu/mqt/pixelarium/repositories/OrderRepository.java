@@ -1,9 +1,13 @@
 package com.edu.mqt.pixelarium.repositories;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.time.LocalDateTime;
 
@@ -14,36 +18,171 @@ import com.edu.mqt.pixelarium.model.vo.Status;
  * Provides persistence operations for {@link Order} entities.
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    /**
-     * Finds orders with the exact order date-time.
-     *
-     * @param orderDate order date-time to match
-     * @return orders placed at the given date-time
-     */
-    @Query("SELECT o FROM Order o WHERE o.orderDate = :orderDate")
-    List<Order> findByOrderDate(@Param("orderDate") LocalDateTime orderDate);
     /**
      * Finds orders with the exact total price.
      *
      * @param totalPrice total price to match
      * @return orders whose total price equals the provided value
      */
+    @EntityGraph(attributePaths = "orderItems")
     @Query("SELECT o FROM Order o WHERE o.totalPrice = :totalPrice")
     List<Order> findByTotalPrice(@Param("totalPrice") Double totalPrice);
+
+    /**
+     * Finds the ids of the next page of orders ordered by id.
+     *
+     * @param afterId id of the last order of the previous page, or {@code 0}
+     *                for the first page
+     * @param limit   maximum number of ids to return
+     * @return order ids greater than {@code afterId}
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdPageAfter(@Param("afterId") long afterId, Limit limit);
+
     /**
-     * Finds orders with the specified status.
+     * Finds the ids of the next page of orders with the specified status
+     * ordered by id.
      *
-     * @param status status value to match
-     * @return orders that have the given status
+     * @param status  status value to match
+     * @param afterId id of the last order of the previous page, or {@code 0}
+     *                for the first page
+     * @param limit   maximum number of ids to return
+     * @return ids of orders with the status and ids greater than {@code afterId}
      */
-    @Query("SELECT o FROM Order o WHERE o.status = :status")
-    List<Order> findByStatus(@Param("status") Status status);
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdPageByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Finds the ids of the next page of orders placed by a user ordered by id.
+     *
+     * @param user    user identifier to match
+     * @param afterId id of the last order of the previous page, or {@code 0}
+     *                for the first page
+     * @param limit   maximum number of ids to return
+     * @return ids of the user's orders greater than {@code afterId}
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :user AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdPageByUserId(@Param("user") Long user, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Loads the given orders together with their line items in one query.
+     * The user association is left as an uninitialized reference, which is
+     * enough to read the user id.
+     *
+     * @param ids order identifiers
+     * @return the orders in no particular order, with line items initialized
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the keys of the next page of orders placed in {@code [from, to)},
+     * ordered by {@code (orderDate, id)}.
+     *
+     * @param from      start of the range (inclusive)
+     * @param to        end of the range (exclusive)
+     * @param afterDate order date of the last order of the previous page, or
+     *                  {@code from} for the first page
+     * @param afterId   id of the last order of the previous page, or {@code 0}
+     *                  for the first page
+     * @param limit     maximum number of keys to return
+     * @return keys positioned after {@code (afterDate, afterId)}
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.OrderDateKey(o.id, o.orderDate) FROM Order o " +
+           "WHERE o.orderDate >= :from AND o.orderDate < :to " +
+           "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+           "ORDER BY o.orderDate, o.id")
+    List<OrderDateKey> findDateKeysBetween(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("afterDate") LocalDateTime afterDate,
+                                           @Param("afterId") long afterId,
+                                           Limit limit);
+
+    /**
+     * Finds the keys of the next page of a user's orders placed in
+     * {@code [from, to)}, ordered by {@code (orderDate, id)}.
+     *
+     * @param user      user identifier to match
+     * @param from      start of the range (inclusive)
+     * @param to        end of the range (exclusive)
+     * @param afterDate order date of the last order of the previous page, or
+     *                  {@code from} for the first page
+     * @param afterId   id of the last order of the previous page, or {@code 0}
+     *                  for the first page
+     * @param limit     maximum number of keys to return
+     * @return keys positioned after {@code (afterDate, afterId)}
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.OrderDateKey(o.id, o.orderDate) FROM Order o " +
+           "WHERE o.user.id = :user AND o.orderDate >= :from AND o.orderDate < :to " +
+           "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+           "ORDER BY o.orderDate, o.id")
+    List<OrderDateKey> findDateKeysByUserBetween(@Param("user") Long user,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("afterDate") LocalDateTime afterDate,
+                                                 @Param("afterId") long afterId,
+                                                 Limit limit);
+
+    /**
+     * Finds the keys of the next page of orders with a status placed in
+     * {@code [from, to)}, ordered by {@code (orderDate, id)}.
+     *
+     * @param status    status value to match
+     * @param from      start of the range (inclusive)
+     * @param to        end of the range (exclusive)
+     * @param afterDate order date of the last order of the previous page, or
+     *                  {@code from} for the first page
+     * @param afterId   id of the last order of the previous page, or {@code 0}
+     *                  for the first page
+     * @param limit     maximum number of keys to return
+     * @return keys positioned after {@code (afterDate, afterId)}
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.OrderDateKey(o.id, o.orderDate) FROM Order o " +
+           "WHERE o.status = :status AND o.orderDate >= :from AND o.orderDate < :to " +
+           "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+           "ORDER BY o.orderDate, o.id")
+    List<OrderDateKey> findDateKeysByStatusBetween(@Param("status") Status status,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("afterDate") LocalDateTime afterDate,
+                                                   @Param("afterId") long afterId,
+                                                   Limit limit);
+
+    /**
+     * Sums all orders per day and status.
+     *
+     * @return order count, units and revenue per day and status
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.DailySales(" +
+           "cast(o.orderDate as LocalDate), o.status.status, COUNT(DISTINCT o.id), " +
+           "COALESCE(SUM(i.quantity), 0), COALESCE(SUM(i.unitPrice * i.quantity), 0)) " +
+           "FROM Order o LEFT JOIN o.orderItems i " +
+           "GROUP BY cast(o.orderDate as LocalDate), o.status.status")
+    List<DailySales> sumSalesByDayAndStatus();
+
+    /**
+     * Sums all order lines per day and product category. An order counts once
+     * for every category it has lines in.
+     *
+     * @return order count, units and revenue per day and category
+     */
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.DailySales(" +
+           "cast(o.orderDate as LocalDate), p.category, COUNT(DISTINCT o.id), " +
+           "SUM(i.quantity), SUM(i.unitPrice * i.quantity)) " +
+           "FROM OrderItem i JOIN i.orderId o JOIN i.productId p " +
+           "GROUP BY cast(o.orderDate as LocalDate), p.category")
+    List<DailySales> sumSalesByDayAndCategory();
+
     /**
-     * Finds orders placed by a specific user id.
+     * Deletes an order in one statement, if its version matches. Its lines
+     * are removed by the database through {@code ON DELETE CASCADE}.
      *
-     * @param user user identifier to match
-     * @return orders that belong to the given user id
+     * @param id      order identifier
+     * @param version expected version
+     * @return {@code 1} if the order was deleted, {@code 0} if it does not
+     *         exist or its version differs
      */
-    @Query("SELECT o FROM Order o WHERE o.user.id = :user")
-    List<Order> findByUserId(@Param("user") Long user);
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id = :id AND o.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") long version);
 }
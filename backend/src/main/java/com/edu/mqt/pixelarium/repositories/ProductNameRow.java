@@ -0,0 +1,12 @@
+package com.edu.mqt.pixelarium.repositories;
+
+/**
+ * Name of one product, read without loading the entity.
+ *
+ * @param id   product identifier
+ * @param name product name
+ */
+public record ProductNameRow(
+    Long id,
+    String name
+) {}
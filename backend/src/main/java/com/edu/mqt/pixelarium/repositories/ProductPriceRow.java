@@ -0,0 +1,20 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.math.BigDecimal;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Pricing columns of one product, read without loading the entity.
+ *
+ * @param id             product identifier
+ * @param category       product category
+ * @param effectivePrice sale price when present, otherwise regular price
+ * @param onSale         whether the product has a sale price
+ */
+public record ProductPriceRow(
+    Long id,
+    Category category,
+    BigDecimal effectivePrice,
+    boolean onSale
+) {}
@@ -1,20 +1,50 @@
 package com.edu.mqt.pixelarium.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.edu.mqt.pixelarium.cache.CacheRegions;
 import com.edu.mqt.pixelarium.model.entities.Product;
 import com.edu.mqt.pixelarium.model.enumerated.Category;
 
 import java.math.BigDecimal;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Provides persistence operations for {@link Product} entities.
+ * <p>
+ * The category and sale-offer queries are cached in the
+ * {@link CacheRegions#PRODUCT_QUERIES} region; the stock updates are native
+ * statements that leave the product cache region in place (see
+ * {@link com.edu.mqt.pixelarium.cache.SecondLevelCache}).
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+       /**
+        * Query space declared by the stock updates. No cached query reads
+        * stock, so naming a space of their own keeps Hibernate from evicting
+        * the product region after every update; callers lock the updated
+        * rows in the cache instead.
+        */
+       String STOCK_SPACE = "product_stock";
+
+       /**
+        * Query space declared by the single-row patch and delete statements.
+        * Callers lock the row and invalidate the cached product queries
+        * themselves, so the rest of the product region stays cached.
+        */
+       String ROW_SPACE = "product_row";
+
        /**
         * Finds products whose names contain the given fragment, ignoring case.
         *
@@ -48,25 +78,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
        boolean existsByName(@Param("name") String name);
 
        /**
-        * Finds products with the exact price.
+        * Finds which of the given names are already used by a product.
         *
-        * @param price price to match
-        * @return products priced exactly at the given value
+        * @param names product names to check
+        * @return the names that exist
         */
-       @Query("SELECT p FROM Product p WHERE p.price = :price")
-       List<Product> findByPrice(@Param("price") BigDecimal price);
-
-       /**
-        * Finds products with prices within the provided range.
-        *
-        * @param min minimum price (inclusive)
-        * @param max maximum price (inclusive)
-        * @return products with prices between the given bounds
-        */
-       @Query("SELECT p FROM Product p " +
-                     "WHERE p.price BETWEEN :min AND :max")
-       List<Product> findByPriceBetween(@Param("min") BigDecimal min,
-                     @Param("max") BigDecimal max);
+       @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+       List<String> findExistingNames(@Param("names") Collection<String> names);
 
        /**
         * Finds products with the exact sale price.
@@ -78,45 +96,215 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
        List<Product> findBySalePrice(@Param("salePrice") BigDecimal salePrice);
 
        /**
-        * Finds products that currently have a sale price.
+        * Finds the next page of products ordered by id.
         *
-        * @return products with non-null sale prices
+        * @param afterId id of the last product of the previous page, or
+        *                {@code 0} for the first page
+        * @param limit   maximum number of products to return
+        * @return products with ids greater than {@code afterId}
         */
-       @Query("SELECT p FROM Product p WHERE p.salePrice IS NOT NULL")
-       List<Product> findBySalePriceIsNotNull();
+       @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+       List<Product> findPageAfter(@Param("afterId") long afterId, Limit limit);
 
        /**
-        * Finds products that match the specified category.
+        * Finds the next page of products in a category ordered by id.
         *
         * @param category category to match
-        * @return products in the given category
+        * @param afterId  id of the last product of the previous page, or
+        *                 {@code 0} for the first page
+        * @param limit    maximum number of products to return
+        * @return products in the category with ids greater than {@code afterId}
         */
-       @Query("SELECT p FROM Product p WHERE p.category = :category")
-       List<Product> findByCategory(@Param("category") Category category);
+       @QueryHints({
+              @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+              @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PRODUCT_QUERIES)
+       })
+       @Query("SELECT p FROM Product p " +
+                     "WHERE p.category = :category AND p.id > :afterId ORDER BY p.id")
+       List<Product> findPageByCategory(@Param("category") Category category,
+                     @Param("afterId") long afterId,
+                     Limit limit);
 
        /**
-        * Finds products in a category with the exact price.
+        * Finds the pricing columns of the next batch of products ordered by id.
         *
-        * @param category category to match
-        * @param price    price to match
-        * @return products in the category with the given price
+        * @param afterId id of the last product of the previous batch, or
+        *                {@code 0} for the first batch
+        * @param limit   maximum number of rows to return
+        * @return pricing rows of products with ids greater than {@code afterId}
         */
-       @Query("SELECT p FROM Product p " +
-                     "WHERE p.category = :category AND p.price = :price")
-       List<Product> findByCategoryAndPrice(@Param("category") Category category,
-                     @Param("price") BigDecimal price);
+       @Query("SELECT new com.edu.mqt.pixelarium.repositories.ProductPriceRow(p.id, p.category, p.effectivePrice, " +
+                     "CASE WHEN p.salePrice IS NOT NULL THEN TRUE ELSE FALSE END) " +
+                     "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+       List<ProductPriceRow> findPriceRowsAfter(@Param("afterId") long afterId, Limit limit);
 
        /**
-        * Finds products in a category with prices within the provided range.
+        * Finds the names of the next batch of products ordered by id.
         *
-        * @param category category to match
-        * @param min      minimum price (inclusive)
-        * @param max      maximum price (inclusive)
-        * @return products in the category within the given price range
+        * @param afterId id of the last product of the previous batch, or
+        *                {@code 0} for the first batch
+        * @param limit   maximum number of rows to return
+        * @return name rows of products with ids greater than {@code afterId}
         */
-       @Query("SELECT p FROM Product p " +
-                     "WHERE p.category = :category AND p.price BETWEEN :min AND :max")
-       List<Product> findByCategoryAndPriceBetween(@Param("category") Category category,
-                     @Param("min") BigDecimal min,
-                     @Param("max") BigDecimal max);
+       @Query("SELECT new com.edu.mqt.pixelarium.repositories.ProductNameRow(p.id, p.name) " +
+                     "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+       List<ProductNameRow> findNameRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+       /**
+        * Finds the names and descriptions of the next batch of products
+        * ordered by id.
+        *
+        * @param afterId id of the last product of the previous batch, or
+        *                {@code 0} for the first batch
+        * @param limit   maximum number of rows to return
+        * @return text rows of products with ids greater than {@code afterId}
+        */
+       @Query("SELECT new com.edu.mqt.pixelarium.repositories.ProductTextRow(p.id, p.name, p.description) " +
+                     "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+       List<ProductTextRow> findTextRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+       /**
+        * Finds the next page of products on sale ordered by discount, largest
+        * first, then by id.
+        *
+        * @param afterDiscount discount of the last product of the previous
+        *                      page, or a value above 100 for the first page
+        * @param afterId       id of the last product of the previous page, or
+        *                      {@code 0} for the first page
+        * @param limit         maximum number of products to return
+        * @return products on sale positioned after {@code (afterDiscount, afterId)}
+        */
+       @QueryHints({
+              @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+              @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PRODUCT_QUERIES)
+       })
+       @Query("SELECT p FROM Product p WHERE p.salePrice IS NOT NULL " +
+                     "AND (p.discountPercentage < :afterDiscount " +
+                     "OR (p.discountPercentage = :afterDiscount AND p.id > :afterId)) " +
+                     "ORDER BY p.discountPercentage DESC, p.id")
+       List<Product> findPageOnSaleByDiscount(@Param("afterDiscount") BigDecimal afterDiscount,
+                     @Param("afterId") long afterId,
+                     Limit limit);
+
+       /**
+        * Finds the next page of products on sale in a category ordered by
+        * discount, largest first, then by id.
+        *
+        * @param category      category to match
+        * @param afterDiscount discount of the last product of the previous
+        *                      page, or a value above 100 for the first page
+        * @param afterId       id of the last product of the previous page, or
+        *                      {@code 0} for the first page
+        * @param limit         maximum number of products to return
+        * @return products on sale positioned after {@code (afterDiscount, afterId)}
+        */
+       @QueryHints({
+              @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+              @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PRODUCT_QUERIES)
+       })
+       @Query("SELECT p FROM Product p WHERE p.category = :category AND p.salePrice IS NOT NULL " +
+                     "AND (p.discountPercentage < :afterDiscount " +
+                     "OR (p.discountPercentage = :afterDiscount AND p.id > :afterId)) " +
+                     "ORDER BY p.discountPercentage DESC, p.id")
+       List<Product> findPageOnSaleByCategoryAndDiscount(@Param("category") Category category,
+                     @Param("afterDiscount") BigDecimal afterDiscount,
+                     @Param("afterId") long afterId,
+                     Limit limit);
+
+       /**
+        * Decrements the stock of a product only if enough units are left.
+        *
+        * @param id       product identifier
+        * @param quantity units to take
+        * @return {@code 1} if the stock was decremented, {@code 0} if the
+        *         product does not have enough stock or does not exist
+        */
+       @Modifying
+       @Query(value = "UPDATE product SET stock = stock - :quantity WHERE id = :id AND stock >= :quantity",
+                     nativeQuery = true)
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_SPACE))
+       int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+       /**
+        * Returns units to the stock of a product.
+        *
+        * @param id       product identifier
+        * @param quantity units to give back
+        * @return the number of updated rows
+        */
+       @Modifying
+       @Query(value = "UPDATE product SET stock = stock + :quantity WHERE id = :id", nativeQuery = true)
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_SPACE))
+       int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+       /**
+        * Reads the stock column of a product and locks its row until the
+        * transaction ends.
+        *
+        * @param id product identifier
+        * @return the stored stock, empty if the product does not exist
+        */
+       @Query(value = "SELECT stock FROM product WHERE id = :id FOR UPDATE", nativeQuery = true)
+       Optional<Integer> findStockForUpdate(@Param("id") Long id);
+
+       /**
+        * Reads the version of a product.
+        *
+        * @param id product identifier
+        * @return the current version, empty if the product does not exist
+        */
+       @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+       Optional<Long> findVersionById(@Param("id") Long id);
+
+       /**
+        * Overwrites the non-null fields of a product in one statement, if its
+        * version matches and the resulting sale price stays below the price.
+        * The sale price is removed instead when {@code clearSalePrice} is set.
+        *
+        * @param id             product identifier
+        * @param version        expected version, or {@code null} to skip the check
+        * @param name           new name, or {@code null} to keep it
+        * @param description    new description, or {@code null} to keep it
+        * @param price          new price, or {@code null} to keep it
+        * @param salePrice      new sale price, or {@code null} to keep it
+        * @param clearSalePrice whether to remove the sale price
+        * @param imagePath      new image path, or {@code null} to keep it
+        * @param stock          new stock, or {@code null} to keep it
+        * @param category       id of the new category, or {@code null} to keep it
+        * @return {@code 1} if the product was updated, {@code 0} if it does not
+        *         exist, its version differs or the sale price would not be
+        *         lower than the price
+        */
+       @Modifying
+       @Query(value = "UPDATE product SET name = COALESCE(:name, name), "
+                     + "description = COALESCE(:description, description), price = COALESCE(:price, price), "
+                     + "sale_price = CASE WHEN :clearSalePrice THEN NULL ELSE COALESCE(:salePrice, sale_price) END, "
+                     + "image_path = COALESCE(:imagePath, image_path), "
+                     + "stock = COALESCE(:stock, stock), category = COALESCE(:category, category), "
+                     + "version = version + 1 "
+                     + "WHERE id = :id AND (:version IS NULL OR version = :version) "
+                     + "AND (:clearSalePrice OR COALESCE(:salePrice, sale_price) IS NULL "
+                     + "OR COALESCE(:salePrice, sale_price) < COALESCE(:price, price))",
+                     nativeQuery = true)
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_SPACE))
+       int patch(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                     @Param("description") String description, @Param("price") BigDecimal price,
+                     @Param("salePrice") BigDecimal salePrice, @Param("clearSalePrice") boolean clearSalePrice,
+                     @Param("imagePath") String imagePath,
+                     @Param("stock") Integer stock, @Param("category") Byte category);
+
+       /**
+        * Deletes a product in one statement, if its version matches. Its order
+        * lines are removed by the database through {@code ON DELETE CASCADE}.
+        *
+        * @param id      product identifier
+        * @param version expected version, or {@code null} to skip the check
+        * @return {@code 1} if the product was deleted, {@code 0} if it does not
+        *         exist or its version differs
+        */
+       @Modifying
+       @Query(value = "DELETE FROM product WHERE id = :id AND (:version IS NULL OR version = :version)",
+                     nativeQuery = true)
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_SPACE))
+       int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
 }
@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.repositories;
+
+/**
+ * Searchable text of one product, read without loading the entity.
+ *
+ * @param id          product identifier
+ * @param name        product name
+ * @param description product description
+ */
+public record ProductTextRow(
+    Long id,
+    String name,
+    String description
+) {}
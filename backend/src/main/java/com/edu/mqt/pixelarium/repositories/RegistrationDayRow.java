@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Number of users registered on one day, as counted from the users table.
+ *
+ * @param day   registration day
+ * @param users number of users registered that day
+ */
+public record RegistrationDayRow(
+    LocalDate day,
+    Long users
+) {}
@@ -0,0 +1,32 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.edu.mqt.pixelarium.model.entities.SalesAggregate;
+import com.edu.mqt.pixelarium.model.entities.SalesAggregateId;
+import com.edu.mqt.pixelarium.model.enumerated.SalesDimension;
+
+/**
+ * Provides persistence operations for {@link SalesAggregate} rows.
+ */
+public interface SalesAggregateRepository extends JpaRepository<SalesAggregate, SalesAggregateId> {
+    /**
+     * Finds the aggregate rows of one dimension for the days in
+     * {@code [from, to)}, ordered by day.
+     *
+     * @param dimension dimension to read
+     * @param from      first day (inclusive)
+     * @param to        last day (exclusive)
+     * @return the matching rows
+     */
+    @Query("SELECT a FROM SalesAggregate a WHERE a.id.dimension = :dimension " +
+           "AND a.id.saleDate >= :from AND a.id.saleDate < :to ORDER BY a.id.saleDate, a.id.dimensionValue")
+    List<SalesAggregate> findByDimensionBetween(@Param("dimension") SalesDimension dimension,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+}
@@ -0,0 +1,44 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.edu.mqt.pixelarium.model.entities.StockMovement;
+
+/**
+ * Provides persistence operations for {@link StockMovement} rows.
+ */
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+       /**
+        * Finds the oldest pending movements.
+        *
+        * @param limit maximum number of movements
+        * @return movements ordered by id
+        */
+       @Query("SELECT m FROM StockMovement m ORDER BY m.id")
+       List<StockMovement> findOldest(Limit limit);
+
+       /**
+        * Adds up the pending movements of a product.
+        *
+        * @param productId product identifier
+        * @return the net change in units, {@code 0} if there is none
+        */
+       @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m WHERE m.productId = :productId")
+       long sumByProductId(@Param("productId") Long productId);
+
+       /**
+        * Deletes the pending movements of a product.
+        *
+        * @param productId product identifier
+        * @return the number of deleted movements
+        */
+       @Modifying
+       @Query("DELETE FROM StockMovement m WHERE m.productId = :productId")
+       int deleteByProductId(@Param("productId") Long productId);
+}
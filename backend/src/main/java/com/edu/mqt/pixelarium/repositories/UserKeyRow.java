@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.repositories;
+
+/**
+ * Unique keys of one user, read without loading the entity.
+ *
+ * @param id       user identifier
+ * @param email    email address
+ * @param userName user name
+ */
+public record UserKeyRow(
+    Long id,
+    String email,
+    String userName
+) {}
@@ -1,7 +1,11 @@
 package com.edu.mqt.pixelarium.repositories;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.edu.mqt.pixelarium.model.entities.User;
@@ -10,11 +14,20 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Provides persistence operations for {@link User} entities.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Query space declared by the single-row patch and delete statements.
+     * Callers lock the row in the cache themselves, so the rest of the user
+     * region stays cached.
+     */
+    String ROW_SPACE = "users_row";
+
     /**
      * Finds a user by exact user name.
      *
@@ -53,41 +66,123 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUserName(@Param("userName") String userName);
 
     /**
-     * Finds users registered on the given date.
+     * Finds the next page of users registered in {@code [from, to)}, ordered
+     * by {@code (registerTime, id)}.
      *
-     * @param registerTime registration date to match
-     * @return users registered on the provided date
+     * @param from     first registration day (inclusive)
+     * @param to       last registration day (exclusive)
+     * @param afterDay registration day of the last user of the previous page,
+     *                 or {@code from} for the first page
+     * @param afterId  id of the last user of the previous page, or {@code 0}
+     *                 for the first page
+     * @param limit    maximum number of users to return
+     * @return users positioned after {@code (afterDay, afterId)}
      */
-    @Query("SELECT u FROM User u WHERE u.registerTime = :registerTime")
-    List<User> findByRegisterTime(@Param("registerTime") LocalDate registerTime);
+    @Query("SELECT u FROM User u " +
+           "WHERE u.registerTime >= :from AND u.registerTime < :to " +
+           "AND (u.registerTime > :afterDay OR (u.registerTime = :afterDay AND u.id > :afterId)) " +
+           "ORDER BY u.registerTime, u.id")
+    List<User> findRegisteredBetween(@Param("from") LocalDate from,
+                                     @Param("to") LocalDate to,
+                                     @Param("afterDay") LocalDate afterDay,
+                                     @Param("afterId") long afterId,
+                                     Limit limit);
 
     /**
-     * Finds users registered after the given date.
+     * Counts the users registered on each day.
      *
-     * @param date lower bound registration date (exclusive)
-     * @return users registered after the provided date
+     * @return one row per day with registrations, earliest first
      */
-    @Query("SELECT u FROM User u WHERE u.registerTime > :date")
-    List<User> findByRegisterTimeAfter(@Param("date") LocalDate date);
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.RegistrationDayRow(u.registerTime, COUNT(u)) " +
+           "FROM User u GROUP BY u.registerTime ORDER BY u.registerTime")
+    List<RegistrationDayRow> countRegistrationsByDay();
 
     /**
-     * Finds users registered before the given date.
+     * Finds the next page of users ordered by id.
      *
-     * @param date upper bound registration date (exclusive)
-     * @return users registered before the provided date
+     * @param afterId id of the last user of the previous page, or {@code 0}
+     *                for the first page
+     * @param limit   maximum number of users to return
+     * @return users with ids greater than {@code afterId}
      */
-    @Query("SELECT u FROM User u WHERE u.registerTime < :date")
-    List<User> findByRegisterTimeBefore(@Param("date") LocalDate date);
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findPageAfter(@Param("afterId") long afterId, Limit limit);
 
     /**
-     * Finds users registered between the given dates.
+     * Finds the next page of user emails and names ordered by id.
      *
-     * @param initialDate start date (inclusive)
-     * @param finalDate end date (inclusive)
-     * @return users registered within the provided date range
+     * @param afterId id of the last user of the previous page, or {@code 0}
+     *                for the first page
+     * @param limit   maximum number of rows to return
+     * @return key rows of users with ids greater than {@code afterId}
      */
-    @Query("SELECT u FROM User u " +
-           "WHERE u.registerTime BETWEEN :initialDate AND :finalDate")
-    List<User> findByRegisterTimeBetween(@Param("initialDate") LocalDate initialDate,
-                                         @Param("finalDate") LocalDate finalDate);
+    @Query("SELECT new com.edu.mqt.pixelarium.repositories.UserKeyRow(u.id, u.email.value, u.userName) " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserKeyRow> findKeyRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Reads the version of a user.
+     *
+     * @param id user identifier
+     * @return the current version, empty if the user does not exist
+     */
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Overwrites the non-null fields of a user in one statement, if its
+     * version matches.
+     *
+     * @param id       user identifier
+     * @param version  expected version, or {@code null} to skip the check
+     * @param email    new email address, or {@code null} to keep it
+     * @param password new password, or {@code null} to keep it
+     * @param realName new given name, or {@code null} to keep it
+     * @param surname  new surname, or {@code null} to keep it
+     * @param userName new user name, or {@code null} to keep it
+     * @return {@code 1} if the user was updated, {@code 0} if it does not
+     *         exist or its version differs
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET email = COALESCE(:email, email), password = COALESCE(:password, password), "
+            + "real_name = COALESCE(:realName, real_name), surname = COALESCE(:surname, surname), "
+            + "user_name = COALESCE(:userName, user_name), version = version + 1 "
+            + "WHERE id = :id AND (:version IS NULL OR version = :version)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_SPACE))
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("email") String email,
+            @Param("password") String password, @Param("realName") String realName,
+            @Param("surname") String surname, @Param("userName") String userName);
+
+    /**
+     * Replaces a user's stored password, if it is still the expected one.
+     * The version is left alone, as the password itself does not change.
+     *
+     * @param id       user identifier
+     * @param current  stored value the replacement is based on
+     * @param password new stored value
+     * @return {@code 1} if the password was replaced, {@code 0} if the user
+     *         does not exist or its password changed meanwhile
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET password = :password WHERE id = :id AND password = :current",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_SPACE))
+    int replacePassword(@Param("id") Long id, @Param("current") String current, @Param("password") String password);
+
+    /**
+     * Deletes a user in one statement, if its version matches. The user's
+     * orders and their lines are removed by the database through
+     * {@code ON DELETE CASCADE}.
+     *
+     * @param id      user identifier
+     * @param version expected version, or {@code null} to skip the check
+     * @return {@code 1} if the user was deleted, {@code 0} if it does not
+     *         exist or its version differs
+     */
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :id AND (:version IS NULL OR version = :version)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_SPACE))
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
 }
@@ -0,0 +1,12 @@
+package com.edu.mqt.pixelarium.sales;
+
+/**
+ * Ranked entry of a best-seller leaderboard.
+ *
+ * @param productId product identifier
+ * @param units     units sold
+ */
+public record BestSeller(
+    Long productId,
+    long units
+) {}
@@ -0,0 +1,241 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.event.SalesChangedEvent;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.OrderItemRepository;
+
+/**
+ * In-memory best-seller leaderboards, one per category and one overall.
+ * Units sold are kept in lock-free per-product counters; each leaderboard is
+ * an immutable ranked list swapped with compare-and-set, so reads never block
+ * and checkouts never wait on each other here. Only when a product on a full
+ * leaderboard loses units, which can let an unlisted product overtake it, is
+ * that leaderboard re-ranked from the counters.
+ */
+@Component
+public class BestSellerLeaderboard implements SmartInitializingSingleton {
+
+    private static final Comparator<BestSeller> RANKING = Comparator.comparingLong(BestSeller::units)
+            .reversed()
+            .thenComparing(BestSeller::productId);
+
+    private final OrderItemRepository orderItemRepo;
+    private final int capacity;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<Category, AtomicReference<List<BestSeller>>> categoryBoards = new EnumMap<>(Category.class);
+    private final AtomicReference<List<BestSeller>> overallBoard = new AtomicReference<>(List.of());
+
+    /**
+     * Units sold of one product and the category it is ranked in.
+     */
+    private static final class Counter {
+        private final AtomicLong units = new AtomicLong();
+        private volatile Category category;
+
+        private Counter(Category category) {
+            this.category = category;
+        }
+    }
+
+    /**
+     * Creates leaderboards that are populated from the given repository on startup.
+     *
+     * @param orderItemRepo repository used for the initial build
+     * @param capacity      number of products ranked per leaderboard
+     */
+    public BestSellerLeaderboard(OrderItemRepository orderItemRepo,
+            @Value("${pixelarium.leaderboard.capacity:50}") int capacity) {
+        this.orderItemRepo = orderItemRepo;
+        this.capacity = capacity;
+        for (Category category : Category.values()) {
+            categoryBoards.put(category, new AtomicReference<>(List.of()));
+        }
+    }
+
+    /**
+     * Builds the leaderboards before the web server accepts orders.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every counter and leaderboard from the order lines.
+     */
+    public void rebuild() {
+        counters.clear();
+        for (SalesLine line : orderItemRepo.sumSalesByProduct()) {
+            Counter counter = new Counter(line.category());
+            counter.units.set(line.units());
+            counters.put(line.productId(), counter);
+        }
+        overallBoard.set(rank(null));
+        categoryBoards.forEach((category, board) -> board.set(rank(category)));
+    }
+
+    /**
+     * Returns the best-selling products, most units first.
+     *
+     * @param category category to rank, or {@code null} for all products
+     * @param k        number of products wanted
+     * @return at most {@code k} entries, never more than {@link #getCapacity()}
+     */
+    public List<BestSeller> top(Category category, int k) {
+        List<BestSeller> board = boardOf(category).get();
+        return board.subList(0, Math.min(k, board.size()));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Applies the units of a committed order write.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesChanged(SalesChangedEvent event) {
+        Map<Long, Long> unitChanges = new HashMap<>();
+        Map<Long, Category> categories = new HashMap<>();
+        if (event.before() != null) {
+            for (SalesLine line : event.before().lines()) {
+                unitChanges.merge(line.productId(), -line.units(), Long::sum);
+                categories.put(line.productId(), line.category());
+            }
+        }
+        if (event.after() != null) {
+            for (SalesLine line : event.after().lines()) {
+                unitChanges.merge(line.productId(), line.units(), Long::sum);
+                categories.put(line.productId(), line.category());
+            }
+        }
+
+        unitChanges.forEach((productId, units) -> {
+            if (units != 0) {
+                Counter counter = counters.computeIfAbsent(productId, id -> new Counter(categories.get(id)));
+                counter.units.addAndGet(units);
+                update(overallBoard, null, productId, units < 0);
+                update(boardOf(counter.category), counter.category, productId, units < 0);
+            }
+        });
+    }
+
+    /**
+     * Moves a product to its new category leaderboard, or drops a deleted
+     * product from every leaderboard.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Counter counter = counters.get(event.productId());
+        if (counter == null) {
+            return;
+        }
+
+        Category previous = counter.category;
+        if (event.isDeletion()) {
+            counters.remove(event.productId());
+            update(overallBoard, null, event.productId(), true);
+            update(boardOf(previous), previous, event.productId(), true);
+        } else if (event.product().category() != previous) {
+            counter.category = event.product().category();
+            update(boardOf(previous), previous, event.productId(), true);
+            update(boardOf(counter.category), counter.category, event.productId(), false);
+        }
+    }
+
+    private AtomicReference<List<BestSeller>> boardOf(Category category) {
+        return category == null ? overallBoard : categoryBoards.get(category);
+    }
+
+    /**
+     * Re-ranks one product on one leaderboard, retrying until the swap wins.
+     *
+     * @param board     leaderboard to update
+     * @param scope     category ranked by the leaderboard, or {@code null} for all
+     * @param productId product whose units changed
+     * @param decreased whether the product lost units or left the scope
+     */
+    private void update(AtomicReference<List<BestSeller>> board, Category scope, Long productId, boolean decreased) {
+        while (true) {
+            List<BestSeller> current = board.get();
+            Counter counter = counters.get(productId);
+            long units = counter != null && (scope == null || counter.category == scope) ? counter.units.get() : 0;
+
+            List<BestSeller> next = decreased
+                    ? afterDecrease(current, scope, productId, units)
+                    : afterIncrease(current, productId, units);
+            if (next == current || board.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private List<BestSeller> afterIncrease(List<BestSeller> current, Long productId, long units) {
+        if (units <= 0) {
+            return current;
+        }
+        BestSeller entry = new BestSeller(productId, units);
+        boolean listed = current.stream().anyMatch(seller -> seller.productId().equals(productId));
+        if (!listed && current.size() >= capacity && RANKING.compare(entry, current.getLast()) >= 0) {
+            return current;
+        }
+        return reranked(current, productId, entry);
+    }
+
+    private List<BestSeller> afterDecrease(List<BestSeller> current, Category scope, Long productId, long units) {
+        boolean listed = current.stream().anyMatch(seller -> seller.productId().equals(productId));
+        if (!listed) {
+            return current;
+        }
+        if (current.size() >= capacity) {
+            return rank(scope);
+        }
+        return reranked(current, productId, units > 0 ? new BestSeller(productId, units) : null);
+    }
+
+    private List<BestSeller> reranked(List<BestSeller> current, Long productId, BestSeller entry) {
+        List<BestSeller> next = new ArrayList<>(current.size() + 1);
+        for (BestSeller seller : current) {
+            if (!seller.productId().equals(productId)) {
+                next.add(seller);
+            }
+        }
+        if (entry != null) {
+            next.add(entry);
+        }
+        next.sort(RANKING);
+        return List.copyOf(next.subList(0, Math.min(capacity, next.size())));
+    }
+
+    private List<BestSeller> rank(Category scope) {
+        return counters.entrySet()
+                .stream()
+                .filter(entry -> scope == null || entry.getValue().category == scope)
+                .map(entry -> new BestSeller(entry.getKey(), entry.getValue().units.get()))
+                .filter(seller -> seller.units() > 0)
+                .sorted(RANKING)
+                .limit(capacity)
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+
+/**
+ * What one order contributes to the sales figures.
+ *
+ * @param day    day the order was placed
+ * @param status status of the order
+ * @param lines  order lines, one per product
+ */
+public record OrderSales(
+    LocalDate day,
+    StatusType status,
+    List<SalesLine> lines
+) {}
@@ -0,0 +1,161 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edu.mqt.pixelarium.event.SalesChangedEvent;
+import com.edu.mqt.pixelarium.model.entities.SalesAggregate;
+import com.edu.mqt.pixelarium.model.entities.SalesAggregateId;
+import com.edu.mqt.pixelarium.model.enumerated.SalesDimension;
+import com.edu.mqt.pixelarium.repositories.DailySales;
+import com.edu.mqt.pixelarium.repositories.OrderRepository;
+import com.edu.mqt.pixelarium.repositories.SalesAggregateRepository;
+
+/**
+ * Keeps the {@code sales_aggregates} table in step with the orders table.
+ * Committed order writes are collected in memory and written to the table in
+ * one short transaction per flush, so checkouts never wait on the lock of a
+ * shared summary row.
+ */
+@Component
+public class SalesAggregator implements SmartInitializingSingleton {
+
+    private final SalesAggregateRepository aggregateRepo;
+    private final OrderRepository orderRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Lock flushLock = new ReentrantLock();
+    private final Object pendingLock = new Object();
+    private SalesDelta pending = new SalesDelta();
+
+    /**
+     * Creates an aggregator backed by the given dependencies.
+     *
+     * @param aggregateRepo      repository of the summary rows
+     * @param orderRepo          repository used to rebuild the summary rows
+     * @param transactionManager manager used to run flushes in their own transaction
+     */
+    public SalesAggregator(SalesAggregateRepository aggregateRepo, OrderRepository orderRepo,
+            PlatformTransactionManager transactionManager) {
+        this.aggregateRepo = aggregateRepo;
+        this.orderRepo = orderRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rebuilds the summary rows once the schema and seed data exist and
+     * before the web server accepts orders.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every summary row from the orders table with two grouped
+     * queries, discarding pending changes.
+     */
+    public void rebuild() {
+        flushLock.lock();
+        try {
+            synchronized (pendingLock) {
+                pending = new SalesDelta();
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                SalesDelta totals = new SalesDelta();
+                addRows(totals, SalesDimension.STATUS, orderRepo.sumSalesByDayAndStatus());
+                addRows(totals, SalesDimension.CATEGORY, orderRepo.sumSalesByDayAndCategory());
+                aggregateRepo.deleteAllInBatch();
+                write(totals);
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Queues the changes of a committed order write.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesChanged(SalesChangedEvent event) {
+        SalesDelta delta = new SalesDelta();
+        if (event.before() != null) {
+            delta.removeOrder(event.before());
+        }
+        if (event.after() != null) {
+            delta.addOrder(event.after());
+        }
+        synchronized (pendingLock) {
+            pending.merge(delta);
+        }
+    }
+
+    /**
+     * Writes the queued changes to the summary table. Runs periodically and
+     * before every report so that reports include all committed orders.
+     */
+    @Scheduled(fixedDelayString = "${pixelarium.sales.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            SalesDelta drained;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                drained = pending;
+                pending = new SalesDelta();
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(drained));
+            } catch (RuntimeException e) {
+                synchronized (pendingLock) {
+                    pending = drained.merge(pending);
+                }
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(SalesDelta delta) {
+        Map<SalesAggregateId, SalesAggregate> existing = new HashMap<>();
+        for (SalesAggregate aggregate : aggregateRepo.findAllById(delta.ids())) {
+            existing.put(aggregate.getId(), aggregate);
+        }
+
+        List<SalesAggregate> created = new ArrayList<>();
+        for (SalesAggregateId id : delta.ids()) {
+            SalesAggregate aggregate = existing.get(id);
+            if (aggregate == null) {
+                created.add(new SalesAggregate(id, delta.get(id)));
+            } else {
+                aggregate.add(delta.get(id));
+            }
+        }
+        aggregateRepo.saveAll(created);
+    }
+
+    private static void addRows(SalesDelta totals, SalesDimension dimension, List<DailySales> rows) {
+        for (DailySales row : rows) {
+            totals.add(new SalesAggregateId(row.day(), dimension, row.key().name()),
+                    new SalesTotals(row.orders(), row.units(), row.revenue()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.edu.mqt.pixelarium.model.entities.SalesAggregateId;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.model.enumerated.SalesDimension;
+import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+
+/**
+ * Pending changes to sales aggregate rows. An order contributes one order to
+ * the row of its status and one order to the row of every category it has
+ * lines in, all on the day it was placed. Instances are not thread-safe.
+ */
+public final class SalesDelta {
+
+    private final Map<SalesAggregateId, SalesTotals> changes = new HashMap<>();
+
+    /**
+     * Adds the contribution of an order.
+     *
+     * @param order order contribution
+     * @return this delta
+     */
+    public SalesDelta addOrder(OrderSales order) {
+        return applyOrder(order, 1);
+    }
+
+    /**
+     * Removes the contribution of an order.
+     *
+     * @param order order contribution
+     * @return this delta
+     */
+    public SalesDelta removeOrder(OrderSales order) {
+        return applyOrder(order, -1);
+    }
+
+    /**
+     * Adds totals to one aggregate row.
+     *
+     * @param id     aggregate row
+     * @param totals totals to add, possibly negative
+     * @return this delta
+     */
+    public SalesDelta add(SalesAggregateId id, SalesTotals totals) {
+        SalesTotals merged = changes.getOrDefault(id, SalesTotals.ZERO).plus(totals);
+        if (merged.isZero()) {
+            changes.remove(id);
+        } else {
+            changes.put(id, merged);
+        }
+        return this;
+    }
+
+    /**
+     * Adds every change of another delta to this one.
+     *
+     * @param other delta to merge
+     * @return this delta
+     */
+    public SalesDelta merge(SalesDelta other) {
+        other.changes.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Returns the rows this delta changes.
+     *
+     * @return identifiers of the changed rows
+     */
+    public Set<SalesAggregateId> ids() {
+        return changes.keySet();
+    }
+
+    /**
+     * Returns the change to one row.
+     *
+     * @param id aggregate row
+     * @return the change, or zero totals if the row is unchanged
+     */
+    public SalesTotals get(SalesAggregateId id) {
+        return changes.getOrDefault(id, SalesTotals.ZERO);
+    }
+
+    /**
+     * Returns whether this delta changes no row.
+     *
+     * @return {@code true} if there is nothing to apply
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    private SalesDelta applyOrder(OrderSales order, int sign) {
+        Map<Category, SalesTotals> categories = new EnumMap<>(Category.class);
+        SalesTotals orderTotals = new SalesTotals(1, 0, BigDecimal.ZERO);
+        for (SalesLine line : order.lines()) {
+            SalesTotals lineTotals = new SalesTotals(0, line.units(), line.revenue());
+            categories.merge(line.category(), new SalesTotals(1, line.units(), line.revenue()),
+                    (current, added) -> current.plus(lineTotals));
+            orderTotals = orderTotals.plus(lineTotals);
+        }
+        categories.forEach((category, totals) -> add(categoryId(order.day(), category), signed(totals, sign)));
+        add(statusId(order.day(), order.status()), signed(orderTotals, sign));
+        return this;
+    }
+
+    private static SalesTotals signed(SalesTotals totals, int sign) {
+        return sign < 0 ? totals.negate() : totals;
+    }
+
+    private static SalesAggregateId statusId(LocalDate day, StatusType status) {
+        return new SalesAggregateId(day, SalesDimension.STATUS, status.name());
+    }
+
+    private static SalesAggregateId categoryId(LocalDate day, Category category) {
+        return new SalesAggregateId(day, SalesDimension.CATEGORY, category.name());
+    }
+}
@@ -0,0 +1,21 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.math.BigDecimal;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Units and revenue of the lines of one order, or of all orders, for one
+ * product.
+ *
+ * @param productId product identifier
+ * @param category  category of the product
+ * @param units     units ordered
+ * @param revenue   revenue of those units
+ */
+public record SalesLine(
+    Long productId,
+    Category category,
+    long units,
+    BigDecimal revenue
+) {}
@@ -0,0 +1,46 @@
+package com.edu.mqt.pixelarium.sales;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count, units sold and revenue of a set of orders.
+ *
+ * @param orders  number of orders
+ * @param units   number of units sold
+ * @param revenue revenue of the units sold
+ */
+public record SalesTotals(
+    long orders,
+    long units,
+    BigDecimal revenue
+) {
+    public static final SalesTotals ZERO = new SalesTotals(0, 0, BigDecimal.ZERO);
+
+    /**
+     * Returns the sum of these totals and another.
+     *
+     * @param other totals to add
+     * @return the summed totals
+     */
+    public SalesTotals plus(SalesTotals other) {
+        return new SalesTotals(orders + other.orders, units + other.units, revenue.add(other.revenue));
+    }
+
+    /**
+     * Returns these totals with every figure negated.
+     *
+     * @return the negated totals
+     */
+    public SalesTotals negate() {
+        return new SalesTotals(-orders, -units, revenue.negate());
+    }
+
+    /**
+     * Returns whether every figure is zero.
+     *
+     * @return {@code true} if adding these totals changes nothing
+     */
+    public boolean isZero() {
+        return orders == 0 && units == 0 && revenue.signum() == 0;
+    }
+}
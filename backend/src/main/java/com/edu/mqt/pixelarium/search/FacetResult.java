@@ -0,0 +1,27 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.util.List;
+import java.util.Map;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+
+/**
+ * Products selected by a faceted query and the facet counts around them.
+ * Each facet is counted with every filter applied except its own, so the
+ * counts tell how many products a client would get by switching that filter.
+ *
+ * @param productIds   first selected products, in the requested order
+ * @param total        number of selected products
+ * @param categories   count per category
+ * @param priceBuckets count per price bucket, in bucket order
+ * @param onSale       count of products with a sale price
+ * @param notOnSale    count of products without a sale price
+ */
+public record FacetResult(
+    List<Long> productIds,
+    long total,
+    Map<Category, Long> categories,
+    List<Long> priceBuckets,
+    long onSale,
+    long notOnSale
+) {}
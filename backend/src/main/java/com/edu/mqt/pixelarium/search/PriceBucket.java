@@ -0,0 +1,14 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Effective-price range counted as one facet value.
+ *
+ * @param min lowest price (inclusive)
+ * @param max highest price (exclusive), or {@code null} for no upper bound
+ */
+public record PriceBucket(
+    BigDecimal min,
+    BigDecimal max
+) {}
@@ -0,0 +1,21 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Position of a product in the price index, ordered by price and then id.
+ *
+ * @param price     indexed price
+ * @param productId product identifier
+ */
+public record PriceEntry(
+    BigDecimal price,
+    long productId
+) implements Comparable<PriceEntry> {
+
+    @Override
+    public int compareTo(PriceEntry other) {
+        int byPrice = price.compareTo(other.price);
+        return byPrice != 0 ? byPrice : Long.compare(productId, other.productId);
+    }
+}
@@ -0,0 +1,329 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.ProductPriceRow;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+
+/**
+ * Facet counts over the catalog, kept as one bitset per facet value indexed by
+ * product ordinal: one per category, one per effective-price bucket and one
+ * for products on sale. A faceted query is a handful of word-wide AND
+ * operations and population counts over those bitsets instead of one query
+ * per facet value. Ordinals follow product ids, so walking the selected bits
+ * lists products in id order.
+ */
+@Component
+public class ProductFacetIndex implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ProductRepository productRepo;
+    private final BigDecimal[] priceBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] productIds;
+    private int size;
+    private BitSet live;
+    private final Map<Category, BitSet> categories = new EnumMap<>(Category.class);
+    private final BitSet[] buckets;
+    private BitSet onSale;
+
+    /**
+     * Creates an index that is populated from the given repository on startup.
+     *
+     * @param productRepo repository used for the initial build
+     * @param priceBounds ascending bucket boundaries; {@code n} boundaries
+     *                    make {@code n + 1} buckets, each including its lower
+     *                    boundary
+     */
+    public ProductFacetIndex(ProductRepository productRepo,
+            @Value("${pixelarium.facets.price-bounds:25,50,100,250,500}") BigDecimal[] priceBounds) {
+        this.productRepo = productRepo;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.buckets = new BitSet[this.priceBounds.length + 1];
+        clear();
+    }
+
+    /**
+     * Builds the index before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the whole index from the database in batches of pricing rows.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            List<ProductPriceRow> rows;
+            long afterId = 0;
+            do {
+                rows = productRepo.findPriceRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ProductPriceRow row : rows) {
+                    put(row.id(), row.category(), row.effectivePrice(), row.onSale());
+                    afterId = row.id();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product write to the index. A product keeps its
+     * ordinal across updates; deleted ordinals are reclaimed once they
+     * outnumber the live ones.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeletion()) {
+                Integer ordinal = ordinals.remove(event.productId());
+                if (ordinal != null) {
+                    clearBits(ordinal);
+                    if (size - ordinals.size() > Math.max(MIN_COMPACTION, ordinals.size())) {
+                        compact();
+                    }
+                }
+            } else {
+                ProductDTOResponse product = event.product();
+                put(product.id(), product.category(), product.effectivePrice(), product.salePrice() != null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the price buckets, cheapest first. Their positions are the
+     * bucket numbers accepted by {@link #facet}.
+     *
+     * @return every price bucket
+     */
+    public List<PriceBucket> getPriceBuckets() {
+        List<PriceBucket> ranges = new ArrayList<>(buckets.length);
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            BigDecimal min = bucket == 0 ? BigDecimal.ZERO : priceBounds[bucket - 1];
+            BigDecimal max = bucket == priceBounds.length ? null : priceBounds[bucket];
+            ranges.add(new PriceBucket(min, max));
+        }
+        return ranges;
+    }
+
+    /**
+     * Selects the products that pass every filter and counts every facet.
+     *
+     * @param matches  ids of the products matching a text query, best first,
+     *                 or {@code null} to start from the whole catalog
+     * @param category category filter, or {@code null}
+     * @param bucket   price bucket filter, or {@code null}
+     * @param sale     {@code true} for products on sale only, {@code false}
+     *                 for products not on sale only, or {@code null}
+     * @param limit    maximum number of product ids to return
+     * @return the selected product ids, in {@code matches} order or else by
+     *         id, and the facet counts
+     * @throws IllegalArgumentException if {@code bucket} does not exist
+     */
+    public FacetResult facet(Collection<Long> matches, Category category, Integer bucket, Boolean sale, int limit) {
+        if (bucket != null && (bucket < 0 || bucket >= buckets.length)) {
+            throw new IllegalArgumentException("Price bucket must be between 0 and " + (buckets.length - 1));
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet base = matches == null ? live : bitsOf(matches);
+            BitSet categoryFilter = category == null ? null : categories.get(category);
+            BitSet bucketFilter = bucket == null ? null : buckets[bucket];
+            BitSet saleFilter = sale == null ? null : sale ? onSale : without(live, onSale);
+
+            BitSet forCategories = and(base, bucketFilter, saleFilter);
+            Map<Category, Long> categoryCounts = new EnumMap<>(Category.class);
+            categories.forEach((value, bits) -> categoryCounts.put(value, countBoth(forCategories, bits)));
+
+            BitSet forBuckets = and(base, categoryFilter, saleFilter);
+            List<Long> bucketCounts = new ArrayList<>(buckets.length);
+            for (BitSet bits : buckets) {
+                bucketCounts.add(countBoth(forBuckets, bits));
+            }
+
+            BitSet forSale = and(base, categoryFilter, bucketFilter);
+            long onSaleCount = countBoth(forSale, onSale);
+            long notOnSaleCount = forSale.cardinality() - onSaleCount;
+
+            BitSet selected = and(forCategories, categoryFilter, null);
+            return new FacetResult(firstIds(selected, matches, limit), selected.cardinality(),
+                    categoryCounts, bucketCounts, onSaleCount, notOnSaleCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long productId, Category category, BigDecimal price, boolean productOnSale) {
+        Integer ordinal = ordinals.get(productId);
+        if (ordinal == null) {
+            ordinal = size++;
+            if (ordinal == productIds.length) {
+                productIds = Arrays.copyOf(productIds, productIds.length * 2);
+            }
+            productIds[ordinal] = productId;
+            ordinals.put(productId, ordinal);
+        } else {
+            clearBits(ordinal);
+        }
+
+        live.set(ordinal);
+        categories.get(category).set(ordinal);
+        buckets[bucketOf(price)].set(ordinal);
+        if (productOnSale) {
+            onSale.set(ordinal);
+        }
+    }
+
+    private void clearBits(int ordinal) {
+        live.clear(ordinal);
+        categories.values().forEach(bits -> bits.clear(ordinal));
+        for (BitSet bits : buckets) {
+            bits.clear(ordinal);
+        }
+        onSale.clear(ordinal);
+    }
+
+    /**
+     * Renumbers the live products densely, keeping their order.
+     */
+    private void compact() {
+        int[] renumbered = new int[size];
+        long[] compactIds = new long[Math.max(LOAD_BATCH_SIZE, ordinals.size() * 2)];
+        int next = 0;
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            renumbered[ordinal] = next;
+            compactIds[next] = productIds[ordinal];
+            ordinals.put(productIds[ordinal], next);
+            next++;
+        }
+
+        live = renumber(live, renumbered);
+        categories.replaceAll((category, bits) -> renumber(bits, renumbered));
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = renumber(buckets[bucket], renumbered);
+        }
+        onSale = renumber(onSale, renumbered);
+        productIds = compactIds;
+        size = next;
+    }
+
+    private void clear() {
+        ordinals.clear();
+        productIds = new long[LOAD_BATCH_SIZE];
+        size = 0;
+        live = new BitSet();
+        for (Category category : Category.values()) {
+            categories.put(category, new BitSet());
+        }
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = new BitSet();
+        }
+        onSale = new BitSet();
+    }
+
+    private int bucketOf(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && price.compareTo(priceBounds[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private BitSet bitsOf(Collection<Long> productIdsToSet) {
+        BitSet bits = new BitSet();
+        for (Long productId : productIdsToSet) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private List<Long> firstIds(BitSet selected, Collection<Long> matches, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, selected.cardinality()));
+        if (matches == null) {
+            for (int ordinal = selected.nextSetBit(0); ordinal >= 0 && ids.size() < limit;
+                    ordinal = selected.nextSetBit(ordinal + 1)) {
+                ids.add(productIds[ordinal]);
+            }
+        } else {
+            for (Long productId : matches) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                Integer ordinal = ordinals.get(productId);
+                if (ordinal != null && selected.get(ordinal)) {
+                    ids.add(productId);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static BitSet and(BitSet base, BitSet first, BitSet second) {
+        BitSet result = (BitSet) base.clone();
+        if (first != null) {
+            result.and(first);
+        }
+        if (second != null) {
+            result.and(second);
+        }
+        return result;
+    }
+
+    private static BitSet without(BitSet base, BitSet excluded) {
+        BitSet result = (BitSet) base.clone();
+        result.andNot(excluded);
+        return result;
+    }
+
+    private static long countBoth(BitSet left, BitSet right) {
+        BitSet both = (BitSet) left.clone();
+        both.and(right);
+        return both.cardinality();
+    }
+
+    private static BitSet renumber(BitSet bits, int[] renumbered) {
+        BitSet result = new BitSet();
+        for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+            result.set(renumbered[ordinal]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,203 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.ProductPriceRow;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+
+/**
+ * In-memory index over the effective prices of the catalog: one sorted set of
+ * products per category and one across all categories, each with a companion
+ * set holding only the products on sale. Price-range, exact-price and on-sale lookups are
+ * a tree seek followed by a walk over the matches, so they cost
+ * O(log n + k) and come back sorted by price. Only ids and prices are kept;
+ * callers resolve the products through the catalog cache.
+ */
+@Component
+public class ProductPriceIndex implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Shelf allProducts = new Shelf();
+    private final Map<Category, Shelf> shelves = new EnumMap<>(Category.class);
+    private final Map<Long, IndexedPrice> indexed = new HashMap<>();
+
+    /**
+     * Sorted entries of one scope, and the subset that is on sale.
+     */
+    private static final class Shelf {
+        private final NavigableSet<PriceEntry> all = new TreeSet<>();
+        private final NavigableSet<PriceEntry> onSale = new TreeSet<>();
+    }
+
+    /**
+     * Indexed state of a product, kept so that it can be removed again.
+     */
+    private record IndexedPrice(Category category, PriceEntry entry, boolean onSale) {}
+
+    /**
+     * Creates an index that is populated from the given repository on startup.
+     *
+     * @param productRepo repository used for the initial build
+     */
+    public ProductPriceIndex(ProductRepository productRepo) {
+        this.productRepo = productRepo;
+        for (Category category : Category.values()) {
+            shelves.put(category, new Shelf());
+        }
+    }
+
+    /**
+     * Builds the index before the web server accepts requests, so that
+     * lookups never need a database fallback.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the whole index from the database in batches of id, category
+     * and price rows, without loading product entities.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            indexed.clear();
+            clear(allProducts);
+            shelves.values().forEach(ProductPriceIndex::clear);
+
+            List<ProductPriceRow> rows;
+            long afterId = 0;
+            do {
+                rows = productRepo.findPriceRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ProductPriceRow row : rows) {
+                    put(row.id(), row.category(), row.effectivePrice(), row.onSale());
+                    afterId = row.id();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product write to the index.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.productId());
+            if (!event.isDeletion()) {
+                ProductDTOResponse product = event.product();
+                put(product.id(), product.category(), product.effectivePrice(), product.salePrice() != null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products whose effective price is within {@code [min, max]},
+     * cheapest first, positioned after {@code after}.
+     *
+     * @param category   category to search, or {@code null} for all products
+     * @param min        lowest price (inclusive), or {@code null} for no bound
+     * @param max        highest price (inclusive), or {@code null} for no bound
+     * @param onSaleOnly whether to return only products that have a sale price
+     * @param after      entry of the last product of the previous page, or
+     *                   {@code null} for the first page
+     * @param limit      maximum number of entries to return
+     * @return the matching entries in price order
+     */
+    public List<PriceEntry> find(Category category, BigDecimal min, BigDecimal max, boolean onSaleOnly,
+            PriceEntry after, int limit) {
+        PriceEntry from = min == null ? null : new PriceEntry(min, Long.MIN_VALUE);
+        boolean fromInclusive = true;
+        if (after != null && (from == null || after.compareTo(from) >= 0)) {
+            from = after;
+            fromInclusive = false;
+        }
+        PriceEntry to = max == null ? null : new PriceEntry(max, Long.MAX_VALUE);
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Shelf shelf = category == null ? allProducts : shelves.get(category);
+            NavigableSet<PriceEntry> view = onSaleOnly ? shelf.onSale : shelf.all;
+            if (from != null) {
+                view = view.tailSet(from, fromInclusive);
+            }
+            if (to != null) {
+                view = view.headSet(to, true);
+            }
+
+            List<PriceEntry> entries = new ArrayList<>(Math.min(limit, LOAD_BATCH_SIZE));
+            for (PriceEntry entry : view) {
+                if (entries.size() == limit) {
+                    break;
+                }
+                entries.add(entry);
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long productId, Category category, BigDecimal price, boolean onSale) {
+        IndexedPrice indexedPrice = new IndexedPrice(category, new PriceEntry(price, productId), onSale);
+        indexed.put(productId, indexedPrice);
+        add(allProducts, indexedPrice);
+        add(shelves.get(category), indexedPrice);
+    }
+
+    private void remove(Long productId) {
+        IndexedPrice indexedPrice = indexed.remove(productId);
+        if (indexedPrice == null) {
+            return;
+        }
+        allProducts.all.remove(indexedPrice.entry());
+        allProducts.onSale.remove(indexedPrice.entry());
+        Shelf shelf = shelves.get(indexedPrice.category());
+        shelf.all.remove(indexedPrice.entry());
+        shelf.onSale.remove(indexedPrice.entry());
+    }
+
+    private static void add(Shelf shelf, IndexedPrice indexedPrice) {
+        shelf.all.add(indexedPrice.entry());
+        if (indexedPrice.onSale()) {
+            shelf.onSale.add(indexedPrice.entry());
+        }
+    }
+
+    private static void clear(Shelf shelf) {
+        shelf.all.clear();
+        shelf.onSale.clear();
+    }
+}
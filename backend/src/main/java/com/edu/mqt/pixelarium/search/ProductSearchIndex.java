@@ -0,0 +1,320 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.ProductTextRow;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ * Results are ranked with BM25; name matches weigh more than description
+ * matches and the last query token is matched as a prefix so that partial
+ * input while typing still finds results.
+ * <p>
+ * The index holds terms, not products: searches return product ids, and
+ * callers load the products themselves so that stock and prices are current.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepo;
+    private final int maxResults;
+    private final int maxPrefixExpansions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private long totalLength;
+    private boolean building;
+    private volatile boolean ready;
+
+    /**
+     * Term frequencies of an indexed product, needed to remove it again.
+     */
+    private record IndexedProduct(Map<String, Integer> termFrequencies, int length) {}
+
+    /**
+     * Scored search hit.
+     */
+    private record Hit(long productId, double score) {}
+
+    /**
+     * Creates an index that is populated from the given repository on startup.
+     *
+     * @param productRepo         repository used for the initial build
+     * @param maxResults          maximum number of results per search
+     * @param maxPrefixExpansions maximum number of terms a prefix may expand to
+     */
+    public ProductSearchIndex(ProductRepository productRepo,
+            @Value("${pixelarium.search.max-results:100}") int maxResults,
+            @Value("${pixelarium.search.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.productRepo = productRepo;
+        this.maxResults = maxResults;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Builds the index from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+            changedDuringBuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<ProductTextRow> rows;
+        long afterId = 0;
+        do {
+            rows = productRepo.findTextRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductTextRow row : rows) {
+                    if (!changedDuringBuild.contains(row.id())) {
+                        put(row.id(), row.name(), row.description());
+                    }
+                    afterId = row.id();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (rows.size() == LOAD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            building = false;
+            changedDuringBuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    /**
+     * Applies a committed product write to the index.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                changedDuringBuild.add(event.productId());
+            }
+            remove(event.productId());
+            if (!event.isDeletion()) {
+                put(event.productId(), event.product().name(), event.product().description());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether the initial build has completed.
+     *
+     * @return {@code true} once the index can serve searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the ids of the products that match every token of the query,
+     * best match first, up to the configured number of results.
+     *
+     * @param query free-text query
+     * @return ranked ids of the best matching products
+     */
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            return topResults(score(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of every product that matches every token of the
+     * query, best match first, without the result cap of {@link #search}.
+     *
+     * @param query free-text query
+     * @return ranked ids of all matching products
+     */
+    public List<Long> searchIds(String query) {
+        lock.readLock().lock();
+        try {
+            return score(query).entrySet()
+                    .stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every document that matches every token of the query. Must be
+     * called under the read lock.
+     */
+    private Map<Long, Double> score(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        Map<Long, Double> scores = Map.of();
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean prefix = i == tokens.size() - 1;
+            Map<Long, Double> tokenScores = scoreToken(tokens.get(i), prefix);
+            scores = i == 0 ? tokenScores : intersect(scores, tokenScores);
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Scores every document containing the token, or any term starting with
+     * it when {@code prefix} is set. Must be called under the read lock.
+     */
+    private Map<Long, Double> scoreToken(String token, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<String, Map<Long, Integer>> terms = prefix
+                ? postings.subMap(token, true, token + Character.MAX_VALUE, true)
+                : exactTerm(token);
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Integer>> term : terms.entrySet()) {
+            if (expansions++ >= maxPrefixExpansions) {
+                break;
+            }
+            double idf = idf(term.getValue().size());
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                double score = bm25(idf, posting.getValue(), documents.get(posting.getKey()).length());
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Long, Integer>> exactTerm(String token) {
+        Map<Long, Integer> docs = postings.get(token);
+        return docs == null ? Map.of() : Map.of(token, docs);
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    private List<Long> topResults(Map<Long, Double> scores) {
+        Comparator<Hit> byRank = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::productId).reversed());
+        PriorityQueue<Hit> heap = new PriorityQueue<>(byRank);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(new Hit(entry.getKey(), entry.getValue()));
+            if (heap.size() > maxResults) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(byRank.reversed());
+        List<Long> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            results.add(hit.productId());
+        }
+        return results;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = documents.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(double idf, int termFrequency, int length) {
+        double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return idf * termFrequency * (K1 + 1) / (termFrequency + norm);
+    }
+
+    /**
+     * Adds a product to the index. Must be called under the write lock.
+     */
+    private void put(Long productId, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : TextNormalizer.tokenize(name)) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : TextNormalizer.tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                    .put(productId, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(productId, new IndexedProduct(frequencies, length));
+        totalLength += length;
+    }
+
+    /**
+     * Removes a product from the index. Must be called under the write lock.
+     */
+    private void remove(Long productId) {
+        IndexedProduct existing = documents.remove(productId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.termFrequencies().keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+}
@@ -0,0 +1,214 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.event.SalesChangedEvent;
+import com.edu.mqt.pixelarium.repositories.OrderItemRepository;
+import com.edu.mqt.pixelarium.repositories.ProductNameRow;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.sales.OrderSales;
+import com.edu.mqt.pixelarium.sales.SalesLine;
+
+/**
+ * Autocomplete over product names. Each name is normalized like search
+ * tokens and stored in a {@link SuggestionTrie} once in full and once from
+ * every later word, so {@code "swi"} finds "Nintendo Switch". Suggestions are
+ * ranked by units sold. Lookups cost one walk of the prefix and never touch
+ * the database; product and order writes re-rank only the trie paths of the
+ * affected names.
+ */
+@Component
+public class ProductSuggestIndex implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepo;
+    private final OrderItemRepository orderItemRepo;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> unitsSold = new HashMap<>();
+    private final Map<Long, List<String>> keys = new HashMap<>();
+    private final SuggestionTrie trie;
+
+    /**
+     * Creates an index that is populated from the given repositories on startup.
+     *
+     * @param productRepo   repository the product names are read from
+     * @param orderItemRepo repository the units sold are read from
+     * @param capacity      number of suggestions kept per prefix
+     */
+    public ProductSuggestIndex(ProductRepository productRepo, OrderItemRepository orderItemRepo,
+            @Value("${pixelarium.suggest.capacity:10}") int capacity) {
+        this.productRepo = productRepo;
+        this.orderItemRepo = orderItemRepo;
+        this.capacity = capacity;
+        this.trie = new SuggestionTrie(capacity, productId -> unitsSold.getOrDefault(productId, 0L));
+    }
+
+    /**
+     * Builds the index before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every name and sales count from the database and ranks the
+     * whole trie once at the end.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            unitsSold.clear();
+            keys.clear();
+            trie.clear();
+            for (SalesLine line : orderItemRepo.sumSalesByProduct()) {
+                unitsSold.merge(line.productId(), line.units(), Long::sum);
+            }
+
+            List<ProductNameRow> rows;
+            long afterId = 0;
+            do {
+                rows = productRepo.findNameRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ProductNameRow row : rows) {
+                    List<String> productKeys = keysOf(row.name());
+                    keys.put(row.id(), productKeys);
+                    productKeys.forEach(key -> trie.load(key, row.id()));
+                    afterId = row.id();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+            trie.rerankAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best-selling products whose name, or a word of it, starts
+     * with the given prefix.
+     *
+     * @param prefix text typed so far; normalized like search queries
+     * @param limit  maximum number of suggestions, capped at {@link #getCapacity()}
+     * @return product ids, most units sold first
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        String normalized = normalizePrefix(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] top = trie.top(normalized);
+            return Arrays.stream(top, 0, Math.min(limit, top.length)).boxed().toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Applies a committed product write to the index.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            List<String> previous = keys.remove(event.productId());
+            if (previous != null) {
+                previous.forEach(key -> trie.remove(key, event.productId()));
+            }
+            if (event.isDeletion()) {
+                unitsSold.remove(event.productId());
+            } else {
+                List<String> productKeys = keysOf(event.product().name());
+                keys.put(event.productId(), productKeys);
+                productKeys.forEach(key -> trie.add(key, event.productId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the units of a committed order write and re-ranks the names of
+     * the products whose sales changed.
+     *
+     * @param event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesChanged(SalesChangedEvent event) {
+        Map<Long, Long> unitChanges = new HashMap<>();
+        addUnits(unitChanges, event.before(), -1);
+        addUnits(unitChanges, event.after(), 1);
+
+        lock.writeLock().lock();
+        try {
+            unitChanges.forEach((productId, units) -> {
+                if (units != 0) {
+                    unitsSold.merge(productId, units, Long::sum);
+                    trie.rerank(keys.getOrDefault(productId, List.of()));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addUnits(Map<Long, Long> unitChanges, OrderSales sales, int sign) {
+        if (sales != null) {
+            for (SalesLine line : sales.lines()) {
+                unitChanges.merge(line.productId(), sign * line.units(), Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Returns the normalized name and every suffix of it that starts at a
+     * word, e.g. {@code "super mario"} and {@code "mario"}.
+     */
+    static List<String> keysOf(String name) {
+        List<String> tokens = TextNormalizer.tokenize(name);
+        Set<String> productKeys = new LinkedHashSet<>();
+        for (int start = 0; start < tokens.size(); start++) {
+            productKeys.add(String.join(" ", tokens.subList(start, tokens.size())));
+        }
+        return List.copyOf(productKeys);
+    }
+
+    /**
+     * Normalizes typed text the same way as names. A trailing separator is
+     * kept as a single space so that {@code "mario "} only matches names with
+     * a word after "mario".
+     */
+    static String normalizePrefix(String prefix) {
+        List<String> tokens = TextNormalizer.tokenize(prefix);
+        if (tokens.isEmpty()) {
+            return "";
+        }
+        String normalized = TextNormalizer.normalize(prefix);
+        String joined = String.join(" ", tokens);
+        return Character.isLetterOrDigit(normalized.charAt(normalized.length() - 1)) ? joined : joined + " ";
+    }
+}
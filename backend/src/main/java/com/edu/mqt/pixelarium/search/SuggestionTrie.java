@@ -0,0 +1,373 @@
+package com.edu.mqt.pixelarium.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Compressed prefix tree (radix tree) mapping normalized keys to product ids.
+ * Every node keeps the most popular products of its subtree, so a prefix
+ * lookup is a walk of at most {@code prefix.length()} characters that ends
+ * with a ready-made answer. A node's ranking is derived from its own
+ * products and the rankings of its children, which lets a write re-rank only
+ * the nodes on the path of the changed key.
+ * <p>
+ * Not thread-safe; callers must guard access.
+ */
+final class SuggestionTrie {
+
+    private static final long[] NO_PRODUCTS = new long[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final int capacity;
+    private final LongUnaryOperator popularity;
+    private Node root = new Node("");
+
+    /**
+     * One edge label and what hangs below it. Rankings are replaced rather
+     * than modified, so an array handed out by {@link #top(String)} never
+     * changes.
+     */
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private long[] products = NO_PRODUCTS;
+        private long[] top = NO_PRODUCTS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param capacity   number of products ranked per node
+     * @param popularity score of a product id; higher ranks first, ties go to
+     *                   the lower id
+     */
+    SuggestionTrie(int capacity, LongUnaryOperator popularity) {
+        this.capacity = capacity;
+        this.popularity = popularity;
+    }
+
+    /**
+     * Returns the most popular products stored under keys starting with the
+     * given prefix.
+     *
+     * @param prefix normalized prefix; the empty string matches every key
+     * @return up to the trie capacity of product ids, most popular first
+     */
+    long[] top(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int index = indexOf(node, prefix.charAt(position));
+            if (index < 0) {
+                return NO_PRODUCTS;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, position);
+            if (position + common == prefix.length()) {
+                return child.top;
+            }
+            if (common < child.label.length()) {
+                return NO_PRODUCTS;
+            }
+            node = child;
+            position += common;
+        }
+        return node.top;
+    }
+
+    /**
+     * Stores a product under a key and re-ranks the nodes on its path.
+     *
+     * @param key       normalized key
+     * @param productId product to store
+     */
+    void add(String key, long productId) {
+        rerank(insert(key, productId));
+    }
+
+    /**
+     * Stores a product under a key without re-ranking; call
+     * {@link #rerankAll()} once the bulk load is done.
+     *
+     * @param key       normalized key
+     * @param productId product to store
+     */
+    void load(String key, long productId) {
+        insert(key, productId);
+    }
+
+    /**
+     * Removes a product from a key and re-ranks the nodes on its path.
+     *
+     * @param key       normalized key
+     * @param productId product to remove
+     */
+    void remove(String key, long productId) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.getLast();
+        node.products = without(node.products, productId);
+
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            if (current.products.length > 0) {
+                break;
+            }
+            if (current.children.length == 0) {
+                removeChild(path.get(depth - 1), current);
+                path.remove(depth);
+            } else if (current.children.length == 1) {
+                Node only = current.children[0];
+                current.label = current.label + only.label;
+                current.children = only.children;
+                current.products = only.products;
+                current.top = only.top;
+                path.remove(depth);
+                break;
+            } else {
+                break;
+            }
+        }
+        rerank(path);
+    }
+
+    /**
+     * Re-ranks the nodes on the paths of the given keys, e.g. after the
+     * popularity of a product stored under them changed. Nodes shared by
+     * several paths, such as the root, are ranked once.
+     *
+     * @param keys normalized keys
+     */
+    void rerank(Collection<String> keys) {
+        List<List<Node>> paths = new ArrayList<>();
+        int depth = 0;
+        for (String key : keys) {
+            List<Node> path = path(key);
+            if (path != null) {
+                paths.add(path);
+                depth = Math.max(depth, path.size());
+            }
+        }
+
+        Set<Node> ranked = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (depth--; depth >= 0; depth--) {
+            for (List<Node> path : paths) {
+                if (depth < path.size() && ranked.add(path.get(depth))) {
+                    rank(path.get(depth));
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-ranks every node, bottom-up.
+     */
+    void rerankAll() {
+        rerankSubtree(root);
+    }
+
+    /**
+     * Removes every key.
+     */
+    void clear() {
+        root = new Node("");
+    }
+
+    private List<Node> insert(String key, long productId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = indexOf(node, key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                insertChild(node, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[] { child };
+                split.top = child.top;
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+        if (Arrays.stream(node.products).noneMatch(id -> id == productId)) {
+            node.products = Arrays.copyOf(node.products, node.products.length + 1);
+            node.products[node.products.length - 1] = productId;
+        }
+        return path;
+    }
+
+    /**
+     * Returns the nodes from the root to the node that ends exactly at the
+     * key, or {@code null} if no such node exists.
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = indexOf(node, key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (commonPrefix(node.label, key, position) < node.label.length()) {
+                return null;
+            }
+            path.add(node);
+            position += node.label.length();
+        }
+        return path;
+    }
+
+    private void rerank(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            rank(path.get(depth));
+        }
+    }
+
+    private void rerankSubtree(Node node) {
+        for (Node child : node.children) {
+            rerankSubtree(child);
+        }
+        rank(node);
+    }
+
+    /**
+     * Ranks a node from its own products and its children's rankings. Any
+     * product in the node's top entries is in the top entries of the child it
+     * came from, so nothing below the children needs to be visited.
+     */
+    private void rank(Node node) {
+        if (node.products.length == 0 && node.children.length == 1) {
+            node.top = node.children[0].top;
+            return;
+        }
+        if (node.children.length == 0 && node.products.length <= 1) {
+            node.top = node.products;
+            return;
+        }
+
+        long[] topIds = new long[capacity];
+        long[] topScores = new long[capacity];
+        int size = 0;
+        size = offer(node.products, topIds, topScores, size);
+        for (Node child : node.children) {
+            size = offer(child.top, topIds, topScores, size);
+        }
+        node.top = size == capacity ? topIds : Arrays.copyOf(topIds, size);
+    }
+
+    /**
+     * Inserts candidates into a ranking kept sorted by insertion. Candidates
+     * that cannot make a full ranking are rejected with one comparison, and a
+     * product reached through several children is only kept once.
+     *
+     * @return the new size of the ranking
+     */
+    private int offer(long[] candidates, long[] topIds, long[] topScores, int size) {
+        for (long productId : candidates) {
+            long score = popularity.applyAsLong(productId);
+            if (size == capacity && !ranksBefore(score, productId, topScores[size - 1], topIds[size - 1])) {
+                continue;
+            }
+            int position = size;
+            while (position > 0 && ranksBefore(score, productId, topScores[position - 1], topIds[position - 1])) {
+                position--;
+            }
+            if (position > 0 && topIds[position - 1] == productId) {
+                continue;
+            }
+            int moved = Math.min(size, capacity - 1) - position;
+            System.arraycopy(topIds, position, topIds, position + 1, moved);
+            System.arraycopy(topScores, position, topScores, position + 1, moved);
+            topIds[position] = productId;
+            topScores[position] = score;
+            size = Math.min(size + 1, capacity);
+        }
+        return size;
+    }
+
+    private static boolean ranksBefore(long score, long productId, long otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && productId < otherId);
+    }
+
+    /**
+     * Binary search over the children by the first character of their label.
+     *
+     * @return the child index, or {@code -(insertion point) - 1} if absent
+     */
+    private static int indexOf(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char candidate = node.children[middle].label.charAt(0);
+            if (candidate < first) {
+                low = middle + 1;
+            } else if (candidate > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static void insertChild(Node parent, int index, Node child) {
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(parent.children, index, children, index + 1, parent.children.length - index);
+        parent.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        Node[] children = new Node[parent.children.length - 1];
+        int size = 0;
+        for (Node candidate : parent.children) {
+            if (candidate != child) {
+                children[size++] = candidate;
+            }
+        }
+        parent.children = children;
+    }
+
+    private static long[] without(long[] products, long productId) {
+        long[] remaining = Arrays.stream(products).filter(id -> id != productId).toArray();
+        return remaining.length == 0 ? NO_PRODUCTS : remaining;
+    }
+}
@@ -0,0 +1,203 @@
+package com.edu.mqt.pixelarium.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.exception.ServiceBusyException;
+
+/**
+ * Hashes and checks passwords with BCrypt on a dedicated pool of threads, so
+ * a burst of logins or signups uses at most that many cores and the request
+ * threads stay free for the other endpoints. Callers wait for their hash
+ * behind a bounded queue: once the queue is full, or a hash is not done
+ * within the configured wait, the call fails with
+ * {@link ServiceBusyException} instead of piling up more work. Callers
+ * should not hold a database connection while they wait.
+ * <p>
+ * Stored values that are not BCrypt hashes are legacy plain-text passwords.
+ * {@link #needsRehash(String)} reports them, and hashes of another cost, so
+ * that a successful login can replace them.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}\\z");
+
+    private final PasswordEncoder encoder;
+    private final int cost;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder hashed = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder workNanos = new LongAdder();
+
+    /**
+     * Creates a BCrypt hasher.
+     *
+     * @param cost          BCrypt cost; each step doubles the time per hash
+     * @param threads       hashing threads, or {@code 0} for one per core
+     * @param queueCapacity hashes that may wait for a thread
+     * @param maxWait       longest a caller waits for its hash, queueing
+     *                      included
+     */
+    @Autowired
+    public PasswordHasher(@Value("${pixelarium.password.bcrypt-cost:10}") int cost,
+            @Value("${pixelarium.password.threads:0}") int threads,
+            @Value("${pixelarium.password.queue-capacity:64}") int queueCapacity,
+            @Value("${pixelarium.password.max-wait:2s}") Duration maxWait) {
+        this(new BCryptPasswordEncoder(cost), cost, threads, queueCapacity, maxWait);
+    }
+
+    PasswordHasher(PasswordEncoder encoder, int cost, int threads, int queueCapacity, Duration maxWait) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.encoder = encoder;
+        this.cost = cost;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Hashes a password with a new salt at the configured cost.
+     *
+     * @param rawPassword password in plain text
+     * @return the BCrypt hash
+     * @throws ServiceBusyException     if the hashing pool is saturated
+     * @throws IllegalArgumentException if the password is longer than
+     *                                  BCrypt's 72 bytes
+     */
+    public String hash(String rawPassword) {
+        String hash = run(() -> encoder.encode(rawPassword));
+        hashed.increment();
+        return hash;
+    }
+
+    /**
+     * Checks a password against a stored value. BCrypt hashes are checked on
+     * the hashing pool; legacy plain-text values are compared directly.
+     *
+     * @param rawPassword password in plain text
+     * @param stored      stored hash or legacy plain-text password
+     * @return {@code true} if the password matches
+     * @throws ServiceBusyException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String stored) {
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        boolean matches = run(() -> encoder.matches(rawPassword, stored));
+        verified.increment();
+        return matches;
+    }
+
+    /**
+     * Returns whether a stored value should be replaced by a new hash: it is
+     * plain text or was hashed at another cost.
+     *
+     * @param stored stored hash or legacy plain-text password
+     * @return {@code true} if the value should be rehashed
+     */
+    public boolean needsRehash(String stored) {
+        if (stored == null) {
+            return true;
+        }
+        Matcher hash = BCRYPT_HASH.matcher(stored);
+        return !hash.matches() || Integer.parseInt(hash.group(1)) != cost;
+    }
+
+    /**
+     * Returns whether a value is a BCrypt hash.
+     *
+     * @param value stored or submitted password value
+     * @return {@code true} if the value has the BCrypt format
+     */
+    public boolean isHash(String value) {
+        return value != null && BCRYPT_HASH.matcher(value).matches();
+    }
+
+    /**
+     * Returns the configuration, load and counters of the hashing pool.
+     *
+     * @return hashing statistics
+     */
+    public PasswordHashingStats stats() {
+        long done = hashed.sum() + verified.sum();
+        return new PasswordHashingStats(cost, executor.getCorePoolSize(), queueCapacity,
+                executor.getQueue().size(), executor.getActiveCount(), hashed.sum(), verified.sum(),
+                rejected.sum(), timedOut.sum(), done == 0 ? 0.0 : workNanos.sum() / 1_000_000.0 / done);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for it, failing fast when
+     * the queue is full.
+     */
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    workNanos.add(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many password checks in progress, retry shortly");
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(false);
+            executor.purge();
+            timedOut.increment();
+            throw new ServiceBusyException("Password check timed out, retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for a password check");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
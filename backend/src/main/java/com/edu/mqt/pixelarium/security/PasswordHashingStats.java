@@ -0,0 +1,29 @@
+package com.edu.mqt.pixelarium.security;
+
+/**
+ * Represents a point-in-time snapshot of the password hashing pool.
+ *
+ * @param cost              BCrypt cost of new hashes
+ * @param threads           hashing threads
+ * @param queueCapacity     hashes that may wait for a thread
+ * @param queued            hashes waiting for a thread
+ * @param active            hashes running
+ * @param hashed            passwords hashed
+ * @param verified          passwords checked against a BCrypt hash
+ * @param rejected          calls refused because the queue was full
+ * @param timedOut          calls that gave up waiting for their hash
+ * @param averageHashMillis mean time a hash or check took on its thread
+ */
+public record PasswordHashingStats(
+    int cost,
+    int threads,
+    int queueCapacity,
+    int queued,
+    int active,
+    long hashed,
+    long verified,
+    long rejected,
+    long timedOut,
+    double averageHashMillis
+) {
+}
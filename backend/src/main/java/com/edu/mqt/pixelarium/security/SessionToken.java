@@ -0,0 +1,21 @@
+package com.edu.mqt.pixelarium.security;
+
+import java.time.Instant;
+
+/**
+ * Represents a signed session token and the claims it carries.
+ *
+ * @param value     token as sent in the {@code Authorization} header
+ * @param userId    user the token authenticates
+ * @param tokenId   random id used to revoke this token alone
+ * @param issuedAt  time the token was issued
+ * @param expiresAt time after which the token is rejected
+ */
+public record SessionToken(
+    String value,
+    long userId,
+    long tokenId,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+}
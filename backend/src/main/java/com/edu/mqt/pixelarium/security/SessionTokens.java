@@ -0,0 +1,226 @@
+package com.edu.mqt.pixelarium.security;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.exception.ForbiddenException;
+import com.edu.mqt.pixelarium.exception.UnauthorizedException;
+
+/**
+ * Issues and checks signed session tokens. A token is the URL-safe Base64 of
+ * its claims (user id, issue and expiry times, random token id) followed by
+ * a dot and their HMAC-SHA256, so checking one takes a MAC and a few map
+ * lookups and never touches the database.
+ * <p>
+ * Tokens are revoked one by one on logout, or all tokens of a user issued
+ * up to a given time when the user is deleted or changes password. Both
+ * revocation maps live in memory and their entries are dropped once the
+ * tokens they cover have expired. With several instances each one keeps its
+ * own revocations, and without a configured secret tokens do not outlive a
+ * restart.
+ */
+@Component
+public class SessionTokens {
+
+    /**
+     * Response header carrying the token issued at login.
+     */
+    public static final String TOKEN_HEADER = "X-Session-Token";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int CLAIMS_LENGTH = 1 + 4 * Long.BYTES;
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macs;
+    private final Map<Long, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the token service.
+     *
+     * @param secret Base64 HMAC key shared by all instances, or blank to use
+     *               a random key for this run
+     * @param ttl    how long a token stays valid
+     */
+    public SessionTokens(@Value("${pixelarium.session.secret:}") String secret,
+            @Value("${pixelarium.session.ttl:1h}") Duration ttl) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("Session secret must be at least 32 bytes!");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlMillis = ttl.toMillis();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Issues a token for a user. The token counts as issued after any
+     * revocation of the user's tokens, even within the same millisecond.
+     *
+     * @param userId user the token authenticates
+     * @return the token and its claims
+     */
+    public SessionToken issue(long userId) {
+        long now = Math.max(System.currentTimeMillis(), revokedUsers.getOrDefault(userId, -1L) + 1);
+        long tokenId = random.nextLong();
+        byte[] claims = ByteBuffer.allocate(CLAIMS_LENGTH)
+                .put(VERSION)
+                .putLong(userId)
+                .putLong(now)
+                .putLong(now + ttlMillis)
+                .putLong(tokenId)
+                .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString(claims) + "." + encoder.encodeToString(sign(claims));
+        return new SessionToken(token, userId, tokenId, Instant.ofEpochMilli(now),
+                Instant.ofEpochMilli(now + ttlMillis));
+    }
+
+    /**
+     * Checks the signature, expiry and revocation of a token.
+     *
+     * @param token token as issued
+     * @return the token's claims
+     * @throws UnauthorizedException if the token is malformed, forged,
+     *                               expired or revoked
+     */
+    public SessionToken verify(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot < 0) {
+            throw new UnauthorizedException("Missing or malformed session token");
+        }
+        byte[] claims;
+        byte[] signature;
+        try {
+            claims = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            throw new UnauthorizedException("Missing or malformed session token");
+        }
+        if (claims.length != CLAIMS_LENGTH || claims[0] != VERSION
+                || !MessageDigest.isEqual(sign(claims), signature)) {
+            throw new UnauthorizedException("Invalid session token");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(claims, 1, CLAIMS_LENGTH - 1);
+        long userId = buffer.getLong();
+        long issuedAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        long tokenId = buffer.getLong();
+        if (expiresAt <= System.currentTimeMillis()) {
+            throw new UnauthorizedException("Session token expired");
+        }
+        Long revokedUpTo = revokedUsers.get(userId);
+        if (revokedTokens.containsKey(tokenId) || (revokedUpTo != null && issuedAt <= revokedUpTo)) {
+            throw new UnauthorizedException("Session token revoked");
+        }
+        return new SessionToken(token, userId, tokenId, Instant.ofEpochMilli(issuedAt),
+                Instant.ofEpochMilli(expiresAt));
+    }
+
+    /**
+     * Checks the bearer token of a request.
+     *
+     * @param authorization value of the {@code Authorization} header, if any
+     * @return the token's claims
+     * @throws UnauthorizedException if the header does not hold a valid
+     *                               bearer token
+     */
+    public SessionToken authenticate(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0,
+                BEARER_PREFIX.length())) {
+            throw new UnauthorizedException("Missing or malformed session token");
+        }
+        return verify(authorization.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    /**
+     * Checks that a request carries a valid token of the given user.
+     *
+     * @param authorization value of the {@code Authorization} header, if any
+     * @param userId        user whose data is requested
+     * @throws UnauthorizedException if the header does not hold a valid
+     *                               bearer token
+     * @throws ForbiddenException    if the token belongs to another user
+     */
+    public void authorize(String authorization, long userId) {
+        if (authenticate(authorization).userId() != userId) {
+            throw new ForbiddenException("Session token does not belong to user " + userId);
+        }
+    }
+
+    /**
+     * Revokes one token until it expires.
+     *
+     * @param token claims of the token to revoke
+     */
+    public void revoke(SessionToken token) {
+        revokedTokens.put(token.tokenId(), token.expiresAt().toEpochMilli());
+    }
+
+    /**
+     * Revokes every token issued to a user up to now.
+     *
+     * @param userId user whose tokens are revoked
+     */
+    public void revokeUser(long userId) {
+        revokedUsers.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Drops the revocations whose tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${pixelarium.session.purge-interval:1m}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(revokedUpTo -> revokedUpTo + ttlMillis <= now);
+    }
+
+    /**
+     * Returns the number of revocations held in memory.
+     *
+     * @return revoked tokens plus users with revoked tokens
+     */
+    public int revocations() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    private byte[] sign(byte[] claims) {
+        return macs.get().doFinal(claims);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.edu.mqt.pixelarium.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.concurrent.ShardedCounter;
+import com.edu.mqt.pixelarium.event.StockChangedEvent;
+import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
+import com.edu.mqt.pixelarium.model.dto.response.FlashSaleDTOResponse;
+import com.edu.mqt.pixelarium.model.entities.FlashSale;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.model.entities.StockMovement;
+import com.edu.mqt.pixelarium.repositories.FlashSaleRepository;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.StockMovementRepository;
+import com.edu.mqt.pixelarium.stock.FlashSaleStock;
+
+/**
+ * Starts and ends flash sales and folds their stock movements back into the
+ * product rows.
+ * <p>
+ * While a product is on flash sale its checkouts take units from a
+ * {@link ShardedCounter} and append {@link StockMovement} rows (see
+ * {@link StockReservationService}). The movements are folded into the
+ * {@code stock} column periodically, so the row stays close to the live
+ * stock without being updated by every checkout, and a restart rebuilds the
+ * counters from the row plus the movements left.
+ */
+@Service
+public class FlashSaleService {
+
+    private final FlashSaleRepository flashSaleRepo;
+    private final ProductRepository productRepo;
+    private final StockMovementRepository movementRepo;
+    private final FlashSaleStock flashSaleStock;
+    private final StockReservationService stockService;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxShards;
+    private final int reconcileBatchSize;
+    private final Lock reconcileLock = new ReentrantLock();
+
+    /**
+     * Creates a service backed by the given dependencies.
+     *
+     * @param flashSaleRepo      repository of the running flash sales
+     * @param productRepo        repository of the product stock columns
+     * @param movementRepo       repository of the pending stock movements
+     * @param flashSaleStock     counters of the products on flash sale
+     * @param stockService       service owning the product stock locks
+     * @param secondLevelCache   cache in which updated products are locked
+     * @param eventPublisher     publisher used to announce stock changes
+     * @param transactionManager manager of the reconciliation transactions
+     * @param maxShards          largest number of counters per product
+     * @param reconcileBatchSize movements folded per transaction
+     */
+    public FlashSaleService(FlashSaleRepository flashSaleRepo, ProductRepository productRepo,
+            StockMovementRepository movementRepo, FlashSaleStock flashSaleStock,
+            StockReservationService stockService, SecondLevelCache secondLevelCache,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            @Value("${pixelarium.flash-sale.max-shards:64}") int maxShards,
+            @Value("${pixelarium.flash-sale.reconcile-batch-size:1000}") int reconcileBatchSize) {
+        this.flashSaleRepo = flashSaleRepo;
+        this.productRepo = productRepo;
+        this.movementRepo = movementRepo;
+        this.flashSaleStock = flashSaleStock;
+        this.stockService = stockService;
+        this.secondLevelCache = secondLevelCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxShards = maxShards;
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    /**
+     * Puts a product on flash sale, splitting its stock into {@code shards}
+     * counters. Waits for the product's running checkouts to finish.
+     *
+     * @param productId product identifier
+     * @param shards    number of counters
+     * @return the started flash sale
+     * @throws IllegalArgumentException  if {@code shards} is out of range or
+     *                                   the product is already on flash sale
+     * @throws ResourceNotFoundException if the product does not exist
+     */
+    @Transactional
+    public FlashSaleDTOResponse startFlashSale(Long productId, int shards) {
+        if (shards < 1 || shards > maxShards) {
+            throw new IllegalArgumentException("Shards must be between 1 and " + maxShards);
+        }
+        stockService.lockExclusively(List.of(productId));
+        if (flashSaleRepo.existsById(productId)) {
+            throw new IllegalArgumentException("Product is already on flash sale: " + productId);
+        }
+        int stock = productRepo.findStockForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        stock += (int) movementRepo.sumByProductId(productId);
+
+        FlashSale sale = flashSaleRepo.save(new FlashSale(productId, shards));
+        ShardedCounter counter = new ShardedCounter(shards, Math.max(0, stock));
+        afterCommit(() -> flashSaleStock.put(productId, counter));
+        return new FlashSaleDTOResponse(productId, shards, counter.total(), sale.getStartedAt());
+    }
+
+    /**
+     * Returns the flash sale of a product.
+     *
+     * @param productId product identifier
+     * @return the running flash sale with its live stock
+     * @throws ResourceNotFoundException if the product is not on flash sale
+     */
+    @Transactional(readOnly = true)
+    public FlashSaleDTOResponse getFlashSale(Long productId) {
+        FlashSale sale = findFlashSale(productId);
+        Integer stock = flashSaleStock.liveStock(productId);
+        return new FlashSaleDTOResponse(productId, sale.getShards(), stock == null ? 0 : stock, sale.getStartedAt());
+    }
+
+    /**
+     * Takes a product off flash sale: its pending movements are folded into
+     * the {@code stock} column, which serves its checkouts again. Waits for
+     * the product's running checkouts to finish.
+     *
+     * @param productId product identifier
+     * @throws ResourceNotFoundException if the product is not on flash sale
+     */
+    @Transactional
+    public void endFlashSale(Long productId) {
+        stockService.lockExclusively(List.of(productId));
+        FlashSale sale = findFlashSale(productId);
+        secondLevelCache.lockUntilCompletion(Product.class, List.of(productId));
+        productRepo.incrementStock(productId, (int) movementRepo.sumByProductId(productId));
+        movementRepo.deleteByProductId(productId);
+        flashSaleRepo.delete(sale);
+        afterCommit(() -> flashSaleStock.remove(productId));
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(productId)));
+    }
+
+    /**
+     * Folds the pending stock movements into the product rows, one batch per
+     * transaction. Movements of checkouts still running are left for the
+     * next run.
+     */
+    @Scheduled(fixedDelayString = "${pixelarium.flash-sale.reconcile-interval:5s}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            List<StockMovement> batch;
+            do {
+                batch = movementRepo.findOldest(Limit.of(reconcileBatchSize));
+                if (!batch.isEmpty()) {
+                    List<Long> ids = batch.stream().map(StockMovement::getId).toList();
+                    Set<Long> productIds = batch.stream().map(StockMovement::getProductId).collect(Collectors.toSet());
+                    transactionTemplate.executeWithoutResult(status -> fold(ids, productIds));
+                }
+            } while (batch.size() == reconcileBatchSize);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the given movements to their products and deletes them. The
+     * movements are read again once the products are locked, since ending a
+     * flash sale may have folded some of them in the meantime.
+     */
+    private void fold(List<Long> movementIds, Set<Long> productIds) {
+        stockService.lockShared(productIds);
+        List<StockMovement> movements = movementRepo.findAllById(movementIds);
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            deltas.merge(movement.getProductId(), movement.getQuantity(), Integer::sum);
+        }
+        secondLevelCache.lockUntilCompletion(Product.class, deltas.keySet());
+        deltas.forEach(productRepo::incrementStock);
+        movementRepo.deleteAllInBatch(movements);
+        eventPublisher.publishEvent(new StockChangedEvent(deltas.keySet()));
+    }
+
+    private FlashSale findFlashSale(Long productId) {
+        return flashSaleRepo.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("No flash sale for product with id: " + productId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,22 +2,42 @@ package com.edu.mqt.pixelarium.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
+import com.edu.mqt.pixelarium.event.SalesChangedEvent;
+import com.edu.mqt.pixelarium.exception.InsufficientStockException;
 import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
+import com.edu.mqt.pixelarium.mapper.EntityToDtoMapper;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
 import com.edu.mqt.pixelarium.model.dto.request.OrderItemDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.OrderDTOResponse;
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.Order;
 import com.edu.mqt.pixelarium.model.entities.OrderItem;
 import com.edu.mqt.pixelarium.model.entities.Product;
 import com.edu.mqt.pixelarium.model.vo.Status;
 import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+import com.edu.mqt.pixelarium.pagination.Cursor;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.pagination.PageSizePolicy;
+import com.edu.mqt.pixelarium.repositories.OrderDateKey;
+import com.edu.mqt.pixelarium.repositories.OrderItemRepository;
 import com.edu.mqt.pixelarium.repositories.OrderRepository;
+import com.edu.mqt.pixelarium.sales.OrderSales;
+import com.edu.mqt.pixelarium.sales.SalesLine;
 
 /**
  * Provides order-related business operations.
@@ -27,32 +47,51 @@ import com.edu.mqt.pixelarium.repositories.OrderRepository;
 public class OrderService {
 
     private final OrderRepository orderRepo;
+    private final OrderItemRepository orderItemRepo;
     private final UserService userService;
     private final ProductService productService;
+    private final StockReservationService stockService;
+    private final PageSizePolicy pageSizePolicy;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a service backed by the given dependencies.
      *
      * @param orderRepo      repository used to persist orders
+     * @param orderItemRepo  repository used to read order lines
      * @param userService    service used to resolve users
      * @param productService service used to resolve products
+     * @param stockService   service used to reserve and release stock
+     * @param pageSizePolicy policy resolving requested page sizes
+     * @param eventPublisher publisher used to announce sales changes
      */
-    public OrderService(OrderRepository orderRepo, UserService userService, ProductService productService) {
+    public OrderService(OrderRepository orderRepo, OrderItemRepository orderItemRepo, UserService userService,
+            ProductService productService, StockReservationService stockService, PageSizePolicy pageSizePolicy,
+            ApplicationEventPublisher eventPublisher) {
         this.orderRepo = orderRepo;
+        this.orderItemRepo = orderItemRepo;
         this.userService = userService;
         this.productService = productService;
+        this.stockService = stockService;
+        this.pageSizePolicy = pageSizePolicy;
+        this.eventPublisher = eventPublisher;
     }
 
     // ========= CRRUD =========
 
     /**
-     * Returns all orders.
+     * Returns one page of orders ordered by id, loaded with a constant number
+     * of queries regardless of the page size.
      *
-     * @return the list of orders
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of orders
      */
     @Transactional(readOnly = true)
-    public List<Order> getOrders() {
-        return orderRepo.findAll();
+    public CursorPage<OrderDTOResponse> getOrders(String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Long> ids = orderRepo.findIdPageAfter(afterId(cursor), Limit.of(pageSize + 1));
+        return loadPage(ids, pageSize, id -> id, Cursor::afterId);
     }
 
     /**
@@ -74,47 +113,79 @@ public class OrderService {
      * @return the saved order, or {@code null} if the order does not exist
      */
     public Order updateOrder(Order order) {
-        if (!orderRepo.existsById(order.getId())) {
-            throw new ResourceNotFoundException("Order not found with id: " + order.getId());
-        }
-        return orderRepo.save(order);
+        Order current = getOrderById(order.getId());
+        OrderSales before = salesOf(current);
+        Order updatedOrder = orderRepo.save(order);
+        eventPublisher.publishEvent(new SalesChangedEvent(before, salesOf(updatedOrder)));
+        return updatedOrder;
     }
 
     /**
-     * Deletes an order by id.
+     * Deletes an order with one conditional DELETE; the database removes its
+     * lines. The order and its sales contribution are read first, since the
+     * sales aggregates need them, and the delete is checked against the
+     * version read so that they stay accurate. The units of an order that
+     * has not been sent yet go back to stock.
      *
-     * @param id order identifier
-     * @throws java.util.NoSuchElementException if the order does not exist
+     * @param id      order identifier
+     * @param version expected version, or {@code null} to skip the check
+     * @throws ResourceNotFoundException          if the order does not exist
+     * @throws OptimisticLockingFailureException if the version does not match
      */
-    public void deleteOrder(Long id) {
-        if (!orderRepo.existsById(id)) {
-            throw new ResourceNotFoundException("Order not found with id: " + id);
+    public void deleteOrder(Long id, Long version) {
+        Order deletedOrder = getOrderById(id);
+        if (version != null && version != deletedOrder.getVersion()) {
+            throw new OptimisticLockingFailureException(
+                    "Order " + id + " is at version " + deletedOrder.getVersion() + ", not " + version);
+        }
+        OrderSales sales = salesOf(deletedOrder);
+        if (orderRepo.deleteByIdAndVersion(id, deletedOrder.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException("Order was changed concurrently: " + id);
         }
-        orderRepo.deleteById(id);
+        if (holdsStock(sales.status())) {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            for (SalesLine line : sales.lines()) {
+                quantities.merge(line.productId(), Math.toIntExact(line.units()), Integer::sum);
+            }
+            stockService.release(quantities);
+        }
+        eventPublisher.publishEvent(new SalesChangedEvent(sales, null));
     }
 
     // ========= CUSTOM METHODS =========
 
     /**
      * Creates a new order in {@link StatusType#DRAFT} from the draft payload.
+     * Lines for the same product are merged, all products are resolved in one
+     * batch and the stock for every line is reserved, or none of it.
      *
      * @param draftOrder request payload with user and item data
      * @return the created order
+     * @throws IllegalArgumentException    if a quantity is not positive
+     * @throws ResourceNotFoundException   if the user or any product does not exist
+     * @throws InsufficientStockException if any product is short of stock
      */
     public Order createOrder(CreateOrderDTORequest draftOrder) {
         Long orderUserId = draftOrder.userId();
         List<OrderItem> items = new ArrayList<>();
+        List<SalesLine> salesLines = new ArrayList<>();
         BigDecimal totalPrice = BigDecimal.ZERO;
         Order newOrder = new Order();
 
         newOrder.setUser(userService.getUserById(orderUserId));
         newOrder.setStatus(new Status(StatusType.DRAFT));
 
-        for (OrderItemDTORequest itemDTO : draftOrder.items()) {
+        Map<Long, Integer> quantities = mergeQuantities(draftOrder.items());
+        Map<Long, ProductDTOResponse> products = productService.getProductsByIds(quantities.keySet());
+        stockService.reserve(quantities);
+
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
 
-            Product product = productService.getProductById(itemDTO.productId());
+            ProductDTOResponse product = products.get(line.getKey());
 
-            OrderItem orderItem = buildOrderItem(newOrder, itemDTO, product);
+            OrderItem orderItem = buildOrderItem(newOrder, line.getValue(), product);
+            BigDecimal lineTotal = orderItem.getUnitPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity()));
+            salesLines.add(new SalesLine(product.id(), product.category(), orderItem.getQuantity(), lineTotal));
 
             items.add(orderItem);
         }
@@ -131,25 +202,42 @@ public class OrderService {
 
         newOrder.setTotalPrice(totalPrice);
 
-        return orderRepo.save(newOrder);
+        Order createdOrder = orderRepo.save(newOrder);
+        eventPublisher.publishEvent(new SalesChangedEvent(null, new OrderSales(
+                createdOrder.getOrderDate().toLocalDate(), createdOrder.getStatus().getType(), salesLines)));
+        return createdOrder;
     }
 
     /**
-     * Builds an order item using the product's sale price when available.
+     * Sums the requested quantities per product, keeping the order in which
+     * products first appear in the request.
      *
-     * @param order   parent order
-     * @param itemDTO item request data
-     * @param product resolved product
-     * @return the built order item
+     * @param itemDTOs requested items
+     * @return total quantity per product id
+     * @throws IllegalArgumentException if a quantity is not positive
      */
-    private OrderItem buildOrderItem(Order order, OrderItemDTORequest itemDTO, Product product) {
-        if (product.getSalePrice() == null) {
-            OrderItem orderItem = new OrderItem(order, product, itemDTO.quantity(), product.getPrice());
-            return orderItem;
+    private Map<Long, Integer> mergeQuantities(List<OrderItemDTORequest> itemDTOs) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDTORequest itemDTO : itemDTOs) {
+            if (itemDTO.quantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive!");
+            }
+            quantities.merge(itemDTO.productId(), itemDTO.quantity(), Integer::sum);
         }
+        return quantities;
+    }
 
-        OrderItem orderItem = new OrderItem(order, product, itemDTO.quantity(), product.getSalePrice());
-        return orderItem;
+    /**
+     * Builds an order item charged at the product's effective price.
+     *
+     * @param order    parent order
+     * @param quantity quantity ordered
+     * @param product  resolved product snapshot
+     * @return the built order item
+     */
+    private OrderItem buildOrderItem(Order order, int quantity, ProductDTOResponse product) {
+        Product productRef = productService.getProductReference(product.id());
+        return new OrderItem(order, productRef, quantity, product.effectivePrice());
     }
 
     /**
@@ -183,34 +271,81 @@ public class OrderService {
             return null;
         }
 
+        OrderSales before = salesOf(changingOrder);
+
         changingOrder.setStatus(newStatus);
-        return orderRepo.save(changingOrder);
+        Order changedOrder = orderRepo.save(changingOrder);
+        eventPublisher.publishEvent(new SalesChangedEvent(before,
+                new OrderSales(before.day(), newStatus.getType(), before.lines())));
+        return changedOrder;
     }
 
     /**
-     * Cancels an order when it is still pending.
+     * Cancels an order that has not been sent yet and returns its units to
+     * stock.
      *
      * @param orderId order identifier
      */
     public void cancelOrder(Long orderId) {
         Order canceledOrder = getOrderById(orderId);
 
-        if (canceledOrder.getStatus().getType() == Status.StatusType.PENDING) {
-            deleteOrder(orderId);
+        if (holdsStock(canceledOrder.getStatus().getType())) {
+            deleteOrder(orderId, null);
         } else {
             System.out.println("This order can't be cancelled");
         }
     }
 
     /**
-     * Returns orders with the exact order date-time.
+     * Returns one page of orders placed in {@code [from, to)}, oldest first,
+     * optionally restricted to one user or one status. Each page is read from
+     * the {@code (order_date, id)} indexes with a seek predicate, so walking a
+     * long range never holds more than one page in memory.
      *
-     * @param orderDate order date-time to match
-     * @return matching orders
+     * @param from   start of the range (inclusive)
+     * @param to     end of the range (exclusive)
+     * @param userId user to restrict to, or {@code null}
+     * @param status status to restrict to, or {@code null}
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of matching orders
+     * @throws IllegalArgumentException if both a user and a status are given,
+     *                                  or the cursor is malformed
      */
     @Transactional(readOnly = true)
-    public List<Order> findByOrderDate(LocalDateTime orderDate) {
-        return orderRepo.findByOrderDate(orderDate);
+    public CursorPage<OrderDTOResponse> findByOrderDateBetween(LocalDateTime from, LocalDateTime to, Long userId,
+            StatusType status, String cursor, Integer limit) {
+        if (userId != null && status != null) {
+            throw new IllegalArgumentException("Filter by user or by status, not both!");
+        }
+
+        int pageSize = pageSizePolicy.resolve(limit);
+        LocalDateTime afterDate = from;
+        long afterId = 0;
+        if (cursor != null) {
+            Cursor position = Cursor.decode(cursor);
+            if (position.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                afterDate = LocalDateTime.parse(position.sortKey());
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            afterId = position.id();
+        }
+
+        Limit rows = Limit.of(pageSize + 1);
+        List<OrderDateKey> keys;
+        if (userId != null) {
+            keys = orderRepo.findDateKeysByUserBetween(userId, from, to, afterDate, afterId, rows);
+        } else if (status != null) {
+            keys = orderRepo.findDateKeysByStatusBetween(new Status(status), from, to, afterDate, afterId, rows);
+        } else {
+            keys = orderRepo.findDateKeysBetween(from, to, afterDate, afterId, rows);
+        }
+        return loadPage(keys, pageSize, OrderDateKey::id,
+                key -> new Cursor(key.orderDate().toString(), key.id()));
     }
 
     /**
@@ -220,29 +355,91 @@ public class OrderService {
      * @return matching orders
      */
     @Transactional(readOnly = true)
-    public List<Order> findByTotalPrice(Double totalPrice) {
-        return orderRepo.findByTotalPrice(totalPrice);
+    public List<OrderDTOResponse> findByTotalPrice(Double totalPrice) {
+        return orderRepo.findByTotalPrice(totalPrice)
+                .stream()
+                .map(EntityToDtoMapper::toOrderDTO)
+                .toList();
     }
 
     /**
-     * Returns orders with the given status.
+     * Returns one page of orders with the given status ordered by id.
      *
      * @param status status to match
-     * @return matching orders
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of matching orders
      */
     @Transactional(readOnly = true)
-    public List<Order> findByStatus(Status status) {
-        return orderRepo.findByStatus(status);
+    public CursorPage<OrderDTOResponse> findByStatus(Status status, String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Long> ids = orderRepo.findIdPageByStatus(status, afterId(cursor), Limit.of(pageSize + 1));
+        return loadPage(ids, pageSize, id -> id, Cursor::afterId);
     }
 
     /**
-     * Returns orders placed by the given user id.
+     * Returns one page of orders placed by the given user id ordered by id.
      *
      * @param userId user identifier
-     * @return matching orders
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of matching orders
      */
     @Transactional(readOnly = true)
-    public List<Order> findByUserId(Long userId) {
-        return orderRepo.findByUserId(userId);
+    public CursorPage<OrderDTOResponse> findByUserId(Long userId, String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Long> ids = orderRepo.findIdPageByUserId(userId, afterId(cursor), Limit.of(pageSize + 1));
+        return loadPage(ids, pageSize, id -> id, Cursor::afterId);
+    }
+
+    /**
+     * Returns whether orders in a status keep their units reserved.
+     */
+    private static boolean holdsStock(StatusType status) {
+        return status == StatusType.DRAFT || status == StatusType.PENDING;
+    }
+
+    /**
+     * Reads what an order currently contributes to the sales figures.
+     *
+     * @param order order to read
+     * @return the order's contribution
+     */
+    private OrderSales salesOf(Order order) {
+        return new OrderSales(order.getOrderDate().toLocalDate(), order.getStatus().getType(),
+                orderItemRepo.findSalesLinesByOrderId(order.getId()));
+    }
+
+    /**
+     * Loads the orders of a page of keys, together with their line items, in
+     * one query and maps them to DTOs in key order.
+     *
+     * @param keys     page keys fetched with a limit of {@code pageSize + 1}
+     * @param pageSize requested page size
+     * @param idOf     function returning the order id of a key
+     * @param cursorOf function returning the cursor of a key
+     * @param <K>      key type
+     * @return the page of orders
+     */
+    private <K> CursorPage<OrderDTOResponse> loadPage(List<K> keys, int pageSize, Function<K, Long> idOf,
+            Function<K, Cursor> cursorOf) {
+        CursorPage<Long> idPage = CursorPage.of(keys, pageSize, cursorOf, idOf);
+        if (idPage.items().isEmpty()) {
+            return new CursorPage<>(List.of(), idPage.nextCursor());
+        }
+
+        Map<Long, Order> loaded = new HashMap<>();
+        for (Order order : orderRepo.findWithItemsByIdIn(idPage.items())) {
+            loaded.put(order.getId(), order);
+        }
+        List<OrderDTOResponse> orders = idPage.items()
+                .stream()
+                .map(id -> EntityToDtoMapper.toOrderDTO(loaded.get(id)))
+                .toList();
+        return new CursorPage<>(orders, idPage.nextCursor());
+    }
+
+    private static long afterId(String cursor) {
+        return cursor == null ? 0 : Cursor.decode(cursor).id();
     }
 }
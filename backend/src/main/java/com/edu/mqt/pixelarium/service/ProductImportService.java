@@ -0,0 +1,248 @@
+package com.edu.mqt.pixelarium.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
+import com.edu.mqt.pixelarium.ids.IdBlockAllocator;
+import com.edu.mqt.pixelarium.imports.CsvProductRowReader;
+import com.edu.mqt.pixelarium.imports.ImportListener;
+import com.edu.mqt.pixelarium.imports.ImportResult;
+import com.edu.mqt.pixelarium.imports.ImportRow;
+import com.edu.mqt.pixelarium.imports.NdjsonProductRowReader;
+import com.edu.mqt.pixelarium.imports.ProductRowReader;
+import com.edu.mqt.pixelarium.mapper.EntityToDtoMapper;
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Imports product catalogs in bulk. Records are streamed from the request
+ * and handled in batches: every record is checked with the same rules as
+ * {@link ProductService#createProduct}, name uniqueness is checked with one
+ * query per batch, and the valid records are written with one JDBC batch
+ * insert per batch in their own transaction, so a failing batch does not
+ * undo the ones before it.
+ */
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO product "
+            + "(id, name, description, price, sale_price, image_path, stock, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProductRepository productRepo;
+    private final IdBlockAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * Creates an import service backed by the given dependencies.
+     *
+     * @param productRepo        repository used for name checks and reloading
+     *                           the inserted products
+     * @param idAllocator        allocator numbering the new products
+     * @param jdbcTemplate       template used for the batch inserts
+     * @param transactionManager manager of the per-batch transactions
+     * @param validator          bean validator applied to every record
+     * @param jsonMapper         mapper used to parse NDJSON records
+     * @param secondLevelCache   cache whose product queries the inserts
+     *                           invalidate
+     * @param eventPublisher     publisher used to announce the new products
+     * @param batchSize          number of records checked and inserted together
+     */
+    public ProductImportService(ProductRepository productRepo, IdBlockAllocator idAllocator,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Validator validator,
+            JsonMapper jsonMapper, SecondLevelCache secondLevelCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${pixelarium.import.batch-size:1000}") int batchSize) {
+        this.productRepo = productRepo;
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.secondLevelCache = secondLevelCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Opens a record reader over an upload. For CSV the header is read and
+     * checked right away, so a malformed file fails before anything is
+     * imported.
+     *
+     * @param input upload body, UTF-8 encoded
+     * @param csv   {@code true} for CSV, {@code false} for NDJSON
+     * @return a reader positioned on the first record
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if the CSV header is invalid
+     */
+    public ProductRowReader openReader(InputStream input, boolean csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return csv ? new CsvProductRowReader(reader) : new NdjsonProductRowReader(reader, jsonMapper);
+    }
+
+    /**
+     * Imports every record of the reader, handing the results of each batch
+     * to the listener as soon as the batch is done.
+     *
+     * @param reader   source of the records
+     * @param listener receiver of the per-record results
+     * @throws IOException if the input cannot be read or the results cannot
+     *                     be written
+     */
+    public void importProducts(ProductRowReader reader, ImportListener listener) throws IOException {
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                listener.onBatch(importBatch(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            listener.onBatch(importBatch(batch));
+        }
+    }
+
+    private List<ImportResult> importBatch(List<ImportRow> rows) {
+        ImportResult[] results = new ImportResult[rows.size()];
+        List<Integer> accepted = new ArrayList<>(rows.size());
+        Set<String> batchNames = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            String error = check(rows.get(i));
+            if (error == null && !batchNames.add(rows.get(i).product().name())) {
+                error = "Duplicate name in import: " + rows.get(i).product().name();
+            }
+            if (error == null) {
+                accepted.add(i);
+            } else {
+                results[i] = ImportResult.skipped(rows.get(i).line(), ImportResult.Status.REJECTED, error);
+            }
+        }
+
+        if (!batchNames.isEmpty()) {
+            Set<String> existing = new HashSet<>(productRepo.findExistingNames(batchNames));
+            accepted.removeIf(i -> {
+                String name = rows.get(i).product().name();
+                if (!existing.contains(name)) {
+                    return false;
+                }
+                results[i] = ImportResult.skipped(rows.get(i).line(), ImportResult.Status.REJECTED,
+                        "Product already exists with name: " + name);
+                return true;
+            });
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> insert(rows, accepted));
+                for (int i = 0; i < accepted.size(); i++) {
+                    results[accepted.get(i)] = ImportResult.created(rows.get(accepted.get(i)).line(), ids.get(i));
+                }
+            } catch (DataAccessException e) {
+                String error = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+                for (int i : accepted) {
+                    results[i] = ImportResult.skipped(rows.get(i).line(), ImportResult.Status.FAILED, error);
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Applies the request validation and the product rules to one record.
+     *
+     * @return the reason the record is invalid, or {@code null} if it is valid
+     */
+    private String check(ImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<CreateProductDTORequest>> violations = validator.validate(row.product());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+        try {
+            ProductService.checkNewProduct(row.product());
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Inserts the accepted records with one JDBC batch and announces them.
+     * Ids come from the same blocks as the ids of {@link Product} entities,
+     * so they are known before the insert. Must run inside a transaction.
+     *
+     * @return the new ids, in the order of {@code accepted}
+     */
+    private List<Long> insert(List<ImportRow> rows, List<Integer> accepted) {
+        List<Long> ids = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            ids.add(idAllocator.next("product"));
+        }
+
+        secondLevelCache.invalidateQueries(Product.class);
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                CreateProductDTORequest product = rows.get(accepted.get(i)).product();
+                statement.setLong(1, ids.get(i));
+                statement.setString(2, product.name());
+                statement.setString(3, product.description());
+                statement.setBigDecimal(4, product.price());
+                statement.setBigDecimal(5, product.salePrice());
+                statement.setString(6, product.imagePath());
+                statement.setInt(7, product.stock());
+                statement.setByte(8, (byte) product.category().getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return accepted.size();
+            }
+        });
+
+        for (Product product : productRepo.findAllById(ids)) {
+            eventPublisher.publishEvent(
+                    new ProductChangedEvent(product.getId(), EntityToDtoMapper.toProductDTO(product)));
+        }
+        return ids;
+    }
+}
@@ -1,20 +1,50 @@
 package com.edu.mqt.pixelarium.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.edu.mqt.pixelarium.cache.ProductCatalogCache;
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.event.ProductChangedEvent;
 import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
 import com.edu.mqt.pixelarium.mapper.EntityToDtoMapper;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.BestSellerDTOResponse;
+import com.edu.mqt.pixelarium.model.dto.response.PriceBucketDTOResponse;
+import com.edu.mqt.pixelarium.model.dto.response.ProductFacetsDTOResponse;
 import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.Product;
 import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.pagination.Cursor;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.pagination.PageSizePolicy;
 import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.sales.BestSeller;
+import com.edu.mqt.pixelarium.sales.BestSellerLeaderboard;
+import com.edu.mqt.pixelarium.search.FacetResult;
+import com.edu.mqt.pixelarium.search.PriceBucket;
+import com.edu.mqt.pixelarium.search.PriceEntry;
+import com.edu.mqt.pixelarium.search.ProductFacetIndex;
+import com.edu.mqt.pixelarium.search.ProductPriceIndex;
+import com.edu.mqt.pixelarium.search.ProductSearchIndex;
+import com.edu.mqt.pixelarium.search.ProductSuggestIndex;
+import com.edu.mqt.pixelarium.stock.FlashSaleStock;
 
 /**
  * Provides product-related business operations.
@@ -23,65 +53,224 @@ import com.edu.mqt.pixelarium.repositories.ProductRepository;
 @Transactional
 public class ProductService {
 
+    private static final int DEFAULT_BEST_SELLERS = 10;
+    private static final BigDecimal NO_DISCOUNT_BOUND = BigDecimal.valueOf(1000);
+
     private final ProductRepository productRepo;
+    private final ProductCatalogCache productCache;
+    private final FlashSaleStock flashSaleStock;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductPriceIndex priceIndex;
+    private final ProductFacetIndex facetIndex;
+    private final BestSellerLeaderboard leaderboard;
+    private final PageSizePolicy pageSizePolicy;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Creates a service backed by the given repository.
+     * Creates a service backed by the given dependencies.
      *
-     * @param productRepo repository used to persist products
+     * @param productRepo      repository used to persist products
+     * @param productCache     in-memory cache in front of the repository
+     * @param flashSaleStock   live stock of the products on flash sale
+     * @param searchIndex      full-text index over product names and descriptions
+     * @param suggestIndex     autocomplete index over product names
+     * @param priceIndex       sorted in-memory index over product prices
+     * @param facetIndex       bitset index over category, price bucket and sale facets
+     * @param leaderboard      in-memory best-seller rankings
+     * @param pageSizePolicy   policy resolving requested page sizes
+     * @param secondLevelCache Hibernate cache kept in step with the SQL writes
+     * @param eventPublisher   publisher used to announce product writes
      */
-    public ProductService(ProductRepository productRepo) {
+    public ProductService(ProductRepository productRepo, ProductCatalogCache productCache,
+            FlashSaleStock flashSaleStock, ProductSearchIndex searchIndex, ProductSuggestIndex suggestIndex, ProductPriceIndex priceIndex,
+            ProductFacetIndex facetIndex, BestSellerLeaderboard leaderboard,
+            PageSizePolicy pageSizePolicy, SecondLevelCache secondLevelCache,
+            ApplicationEventPublisher eventPublisher) {
         this.productRepo = productRepo;
+        this.productCache = productCache;
+        this.flashSaleStock = flashSaleStock;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+        this.priceIndex = priceIndex;
+        this.facetIndex = facetIndex;
+        this.leaderboard = leaderboard;
+        this.pageSizePolicy = pageSizePolicy;
+        this.secondLevelCache = secondLevelCache;
+        this.eventPublisher = eventPublisher;
     }
 
     // ========= CRRUD =========
 
     /**
-     * Returns all products.
+     * Returns one page of products ordered by id.
+     *
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of products
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTOResponse> getProducts(String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Product> rows = productRepo.findPageAfter(afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, product -> Cursor.afterId(product.getId()),
+                this::toDTO);
+    }
+
+    /**
+     * Returns a product by id, served from the catalog cache when possible.
+     *
+     * @param id product identifier
+     * @return the product
+     * @throws ResourceNotFoundException if the product does not exist
+     */
+    @Transactional(readOnly = true)
+    public ProductDTOResponse getProductById(Long id) {
+        return withLiveStock(productCache.getProduct(id, productId -> productRepo.findById(productId)
+                .map(EntityToDtoMapper::toProductDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId))));
+    }
+
+    /**
+     * Returns the products with the given ids, served from the catalog cache
+     * when possible and otherwise loaded with a single query.
      *
-     * @return the list of products
+     * @param ids product identifiers
+     * @return the products keyed by id
+     * @throws ResourceNotFoundException if any of the products does not exist,
+     *                                   listing every missing id
      */
     @Transactional(readOnly = true)
-    public List<Product> getProducts() {
-        return productRepo.findAll();
+    public Map<Long, ProductDTOResponse> getProductsByIds(Collection<Long> ids) {
+        Map<Long, ProductDTOResponse> products = loadProducts(ids);
+
+        List<Long> unknownIds = ids.stream()
+                .filter(id -> !products.containsKey(id))
+                .toList();
+        if (!unknownIds.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with ids: " + unknownIds);
+        }
+        return products;
     }
 
     /**
-     * Returns a product by id, or {@code null} if it does not exist.
+     * Returns a lazy reference to a product that can be used as an
+     * association target without loading the row.
      *
      * @param id product identifier
-     * @return the product if found, otherwise {@code null}
+     * @return an uninitialized product reference
      */
     @Transactional(readOnly = true)
-    public Product getProductById(Long id) {
-        return productRepo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    public Product getProductReference(Long id) {
+        return productRepo.getReferenceById(id);
     }
 
     /**
-     * Updates an existing product if it already exists.
+     * Updates an existing product if it already exists. The stock sent is
+     * ignored and the stored stock is kept: checkouts change it without
+     * bumping the version, so a stock taken from an earlier read would undo
+     * their reservations. Stock is changed with a patch instead.
      *
      * @param product product data to persist
      * @return the saved product, or {@code null} if the product does not exist
      */
     public Product updateProduct(Product product) {
-        if (!productRepo.existsById(product.getId())) {
-            throw new ResourceNotFoundException("Product not found with id: " + product.getId());
+        Integer stock = productRepo.findStockForUpdate(product.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + product.getId()));
+        product.setStock(stock);
+        productCache.invalidate(product.getId());
+        Product updatedProduct = productRepo.saveAndFlush(product);
+        publishChange(updatedProduct);
+        return updatedProduct;
+    }
+
+    /**
+     * Applies the non-null fields of a patch with one conditional UPDATE,
+     * checked against the patch's version instead of an existence probe. The
+     * product is then read back for the response and the in-memory views.
+     * The stock of a product on flash sale is managed by the flash sale, so
+     * the stock sent for it is ignored. {@code clearSalePrice} ends a sale.
+     *
+     * @param id    product identifier
+     * @param patch fields to change and the expected version
+     * @return the updated product
+     * @throws ResourceNotFoundException          if the product does not exist
+     * @throws OptimisticLockingFailureException if the version does not match
+     * @throws IllegalArgumentException           if a value is invalid, the name
+     *                                            is taken or the sale price would
+     *                                            not be lower than the price
+     */
+    public ProductDTOResponse patchProduct(Long id, UpdateProductDTORequest patch) {
+        checkPatch(patch);
+        Integer stock = flashSaleStock.get(id) == null ? patch.stock() : null;
+        Byte category = patch.category() == null ? null : (byte) patch.category().getId();
+
+        secondLevelCache.lockUntilCompletion(Product.class, List.of(id));
+        secondLevelCache.invalidateQueries(Product.class);
+        int updated;
+        try {
+            updated = productRepo.patch(id, patch.version(), patch.name(), patch.description(), patch.price(),
+                    patch.salePrice(), Boolean.TRUE.equals(patch.clearSalePrice()), patch.imagePath(), stock,
+                    category);
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Product already exists with name: " + patch.name());
         }
-        return productRepo.save(product);
+        if (updated == 0) {
+            throw missedWrite(id, patch.version(),
+                    new IllegalArgumentException("Sale price must be lower than regular price!"));
+        }
+
+        productCache.invalidate(id);
+        Product patchedProduct = productRepo.findById(id).orElseThrow();
+        publishChange(patchedProduct);
+        return withLiveStock(EntityToDtoMapper.toProductDTO(patchedProduct));
     }
 
     /**
-     * Deletes a product by id.
+     * Deletes a product with one conditional DELETE; the database removes its
+     * order lines.
      *
-     * @param id product identifier
-     * @throws java.util.NoSuchElementException if the product does not exist
+     * @param id      product identifier
+     * @param version expected version, or {@code null} to skip the check
+     * @throws ResourceNotFoundException          if the product does not exist
+     * @throws OptimisticLockingFailureException if the version does not match
+     * @throws IllegalArgumentException           if the product is on flash sale
      */
-    public void deleteProduct(Long id) {
-        if (!productRepo.existsById(id)) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
+    public void deleteProduct(Long id, Long version) {
+        if (flashSaleStock.get(id) != null) {
+            throw new IllegalArgumentException("End the flash sale before deleting product: " + id);
+        }
+        secondLevelCache.lockUntilCompletion(Product.class, List.of(id));
+        secondLevelCache.invalidateQueries(Product.class);
+        if (productRepo.deleteByIdAndVersion(id, version) == 0) {
+            throw missedWrite(id, version,
+                    new OptimisticLockingFailureException("Product was changed concurrently: " + id));
         }
-        productRepo.deleteById(id);
+        productCache.invalidate(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null));
+    }
+
+    /**
+     * Explains why a conditional write matched no row. Only failed writes pay
+     * for this extra read.
+     *
+     * @param id        product identifier
+     * @param version   version the write expected, or {@code null}
+     * @param otherwise exception to report if the product exists at that
+     *                  version
+     * @return the exception to throw
+     */
+    private RuntimeException missedWrite(Long id, Long version, RuntimeException otherwise) {
+        Optional<Long> current = productRepo.findVersionById(id);
+        if (current.isEmpty()) {
+            return new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        if (version != null && current.get().longValue() != version) {
+            return new OptimisticLockingFailureException(
+                    "Product " + id + " is at version " + current.get() + ", not " + version);
+        }
+        return otherwise;
     }
 
     // ========= CUSTOM METHODS =========
@@ -101,7 +290,31 @@ public class ProductService {
         if (productRepo.existsByName(name)) {
             throw new IllegalArgumentException("Product already exists with name: " + name);
         }
+        checkNewProduct(productDTO);
+
+        Product newProduct = new Product();
+
+        newProduct.setName(productDTO.name());
+        newProduct.setDescription(productDTO.description());
+        newProduct.setPrice(productDTO.price());
+        newProduct.setSalePrice(productDTO.salePrice());
+        newProduct.setImagePath(productDTO.imagePath());
+        newProduct.setStock(productDTO.stock());
+        newProduct.setCategory(productDTO.category());
 
+        Product createdProduct = productRepo.saveAndFlush(newProduct);
+        publishChange(createdProduct);
+        return createdProduct;
+    }
+
+    /**
+     * Checks the price, stock and sale price rules every new product must
+     * satisfy; name uniqueness is checked by the callers.
+     *
+     * @param productDTO request payload with product data
+     * @throws IllegalArgumentException if a rule is violated
+     */
+    static void checkNewProduct(CreateProductDTORequest productDTO) {
         if (productDTO.price().compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Price cannot be negative!");
         }
@@ -118,18 +331,73 @@ public class ProductService {
                 throw new IllegalArgumentException("Sale price cannot be negative!");
             }
         }
+    }
 
-        Product newProduct = new Product();
+    /**
+     * Checks the values of a patch that can be judged without the stored
+     * product; the sale price is checked against the price by the update.
+     *
+     * @param patch fields to change
+     * @throws IllegalArgumentException if a rule is violated
+     */
+    private static void checkPatch(UpdateProductDTORequest patch) {
+        if (patch.name() != null && patch.name().isBlank()) {
+            throw new IllegalArgumentException("Name cannot be blank!");
+        }
+        if (patch.price() != null && patch.price().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Price cannot be negative!");
+        }
+        if (patch.stock() != null && patch.stock() < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative!");
+        }
+        if (patch.salePrice() != null && patch.salePrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Sale price cannot be negative!");
+        }
+        if (patch.salePrice() != null && Boolean.TRUE.equals(patch.clearSalePrice())) {
+            throw new IllegalArgumentException("Send a sale price or clear it, not both!");
+        }
+    }
 
-        newProduct.setName(productDTO.name());
-        newProduct.setDescription(productDTO.description());
-        newProduct.setPrice(productDTO.price());
-        newProduct.setSalePrice(productDTO.salePrice());
-        newProduct.setImagePath(productDTO.imagePath());
-        newProduct.setStock(productDTO.stock());
-        newProduct.setCategory(productDTO.category());
+    private Map<Long, ProductDTOResponse> loadProducts(Collection<Long> ids) {
+        Map<Long, ProductDTOResponse> products = new HashMap<>(productCache.getProducts(ids, missing -> productRepo
+                .findAllById(missing)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, EntityToDtoMapper::toProductDTO))));
+        products.replaceAll((id, product) -> withLiveStock(product));
+        return products;
+    }
+
+    private ProductDTOResponse toDTO(Product product) {
+        return withLiveStock(EntityToDtoMapper.toProductDTO(product));
+    }
+
+    /**
+     * Replaces the stored stock of a product on flash sale, which trails the
+     * sale's counters, with the live stock.
+     */
+    private ProductDTOResponse withLiveStock(ProductDTOResponse product) {
+        Integer stock = flashSaleStock.liveStock(product.id());
+        if (stock == null) {
+            return product;
+        }
+        return new ProductDTOResponse(product.id(), product.name(), product.description(), product.price(),
+                product.salePrice(), product.effectivePrice(), product.discountPercentage(), product.imagePath(),
+                stock, product.category(), product.version());
+    }
 
-        return productRepo.save(newProduct);
+    private static long afterId(String cursor) {
+        return cursor == null ? 0 : Cursor.decode(cursor).id();
+    }
+
+    /**
+     * Announces a product write so that in-memory views can refresh once the
+     * surrounding transaction commits.
+     *
+     * @param product product as persisted
+     */
+    private void publishChange(Product product) {
+        eventPublisher.publishEvent(
+                new ProductChangedEvent(product.getId(), EntityToDtoMapper.toProductDTO(product)));
     }
 
     /**
@@ -144,40 +412,144 @@ public class ProductService {
     }
 
     /**
-     * Searches for products by name or description, ignoring case.
+     * Searches for products by name or description, ignoring case and accents.
+     * Results are ranked by relevance in the in-memory search index and
+     * loaded through the catalog cache, so their stock is current; the
+     * database is only searched while the index is still building.
      * 
      * @param query search query
-     * @return matching products
+     * @return matching products, best match first
      */
     @Transactional(readOnly = true)
     public List<ProductDTOResponse> searchProducts(String query) {
+        if (searchIndex.isReady()) {
+            List<Long> ids = searchIndex.search(query);
+            Map<Long, ProductDTOResponse> products = loadProducts(ids);
+            return ids.stream()
+                    .filter(products::containsKey)
+                    .map(products::get)
+                    .toList();
+        }
         return productRepo.searchByNameOrDescription(query)
                 .stream()
-                .map(EntityToDtoMapper::toProductDTO)
+                .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Returns products with the exact price.
+     * Filters products by an optional text query, category, price bucket and
+     * sale status, and counts how many products each facet value would
+     * select, all from the in-memory facet index.
+     *
+     * @param query    free-text query, or {@code null} for the whole catalog
+     * @param category category filter, or {@code null}
+     * @param bucket   price bucket number filter, or {@code null}
+     * @param onSale   sale status filter, or {@code null}
+     * @param limit    number of products wanted, or {@code null} for the default
+     * @return the first matching products, by relevance with a query or else
+     *         by id, with the facet counts
+     * @throws IllegalArgumentException if {@code bucket} does not exist
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetsDTOResponse getFacets(String query, Category category, Integer bucket, Boolean onSale,
+            Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Long> matches = null;
+        if (query != null && !query.isBlank()) {
+            matches = searchIndex.isReady()
+                    ? searchIndex.searchIds(query)
+                    : productRepo.searchByNameOrDescription(query).stream().map(Product::getId).toList();
+        }
+
+        FacetResult result = facetIndex.facet(matches, category, bucket, onSale, pageSize);
+        Map<Long, ProductDTOResponse> products = loadProducts(result.productIds());
+        List<PriceBucket> priceBuckets = facetIndex.getPriceBuckets();
+        List<PriceBucketDTOResponse> bucketCounts = new ArrayList<>(priceBuckets.size());
+        for (int i = 0; i < priceBuckets.size(); i++) {
+            PriceBucket priceBucket = priceBuckets.get(i);
+            bucketCounts.add(new PriceBucketDTOResponse(i, priceBucket.min(), priceBucket.max(),
+                    result.priceBuckets().get(i)));
+        }
+        return new ProductFacetsDTOResponse(
+                result.productIds().stream().filter(products::containsKey).map(products::get).toList(),
+                result.total(), result.categories(), bucketCounts, result.onSale(), result.notOnSale());
+    }
+
+    /**
+     * Suggests products whose name, or a word of it, starts with the typed
+     * prefix, best sellers first, read from the in-memory autocomplete index.
+     *
+     * @param prefix text typed so far
+     * @param limit  number of suggestions wanted, or {@code null} for the
+     *               index capacity; larger values are capped at it
+     * @return the suggested products, empty for a blank prefix
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDTOResponse> suggestProducts(String prefix, Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive!");
+        }
+
+        List<Long> ids = suggestIndex.suggest(prefix, limit == null ? suggestIndex.getCapacity() : limit);
+        Map<Long, ProductDTOResponse> products = loadProducts(ids);
+        return ids.stream()
+                .filter(products::containsKey)
+                .map(products::get)
+                .toList();
+    }
+
+    /**
+     * Returns the best-selling products, overall or within one category,
+     * read from the in-memory leaderboards.
+     *
+     * @param category category to rank, or {@code null} for all products
+     * @param k        number of products wanted, or {@code null} for 10; larger
+     *                 values are capped at the leaderboard capacity
+     * @return the best sellers, most units sold first
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    @Transactional(readOnly = true)
+    public List<BestSellerDTOResponse> getBestSellers(Category category, Integer k) {
+        if (k != null && k <= 0) {
+            throw new IllegalArgumentException("k must be positive!");
+        }
+
+        List<BestSeller> ranking = leaderboard.top(category, k == null ? DEFAULT_BEST_SELLERS : k);
+        Map<Long, ProductDTOResponse> products = loadProducts(
+                ranking.stream().map(BestSeller::productId).toList());
+        return ranking.stream()
+                .filter(seller -> products.containsKey(seller.productId()))
+                .map(seller -> new BestSellerDTOResponse(products.get(seller.productId()), seller.units()))
+                .toList();
+    }
+
+    /**
+     * Returns products with the exact effective price, served from the price
+     * index.
      *
      * @param price price to match
      * @return matching products
      */
     @Transactional(readOnly = true)
-    public List<Product> getByPrice(BigDecimal price) {
-        return productRepo.findByPrice(price);
+    public List<ProductDTOResponse> getByPrice(BigDecimal price) {
+        return getByCategoryAndPrice(null, price);
     }
 
     /**
-     * Returns products within the given price range.
+     * Returns one page of products whose effective price is within the given
+     * range, cheapest first.
      *
-     * @param min minimum price (inclusive)
-     * @param max maximum price (inclusive)
-     * @return matching products
+     * @param min    minimum price (inclusive)
+     * @param max    maximum price (inclusive)
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of matching products
      */
     @Transactional(readOnly = true)
-    public List<Product> getByPriceBetween(BigDecimal min, BigDecimal max) {
-        return productRepo.findByPriceBetween(min, max);
+    public CursorPage<ProductDTOResponse> getByPriceBetween(BigDecimal min, BigDecimal max, String cursor,
+            Integer limit) {
+        return getByCategoryAndPriceBetween(null, min, max, cursor, limit);
     }
 
     /**
@@ -192,48 +564,139 @@ public class ProductService {
     }
 
     /**
-     * Returns products that have a sale price.
+     * Returns one page of the products that have a sale price, cheapest
+     * effective price first, served from the price index.
      *
-     * @return products with non-null sale prices
+     * @param category category to restrict to, or {@code null} for all products
+     * @param cursor   token of the previous page, or {@code null} for the first page
+     * @param limit    requested page size, or {@code null} for the default
+     * @return the page of products on sale
      */
     @Transactional(readOnly = true)
-    public List<Product> getBySalePriceIsNotNull() {
-        return productRepo.findBySalePriceIsNotNull();
+    public CursorPage<ProductDTOResponse> getOnSale(Category category, String cursor, Integer limit) {
+        return pricePage(category, null, null, true, cursor, limit);
     }
 
     /**
-     * Returns products in the given category.
+     * Returns one page of the products that have a sale price, largest
+     * discount first, read from the discount index in the database.
      *
-     * @param category category to match
-     * @return matching products
+     * @param category category to restrict to, or {@code null} for all products
+     * @param cursor   token of the previous page, or {@code null} for the first page
+     * @param limit    requested page size, or {@code null} for the default
+     * @return the page of products on sale
      */
     @Transactional(readOnly = true)
-    public List<Product> getByCategory(Category category) {
-        return productRepo.findByCategory(category);
+    public CursorPage<ProductDTOResponse> getBestDiscounts(Category category, String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        BigDecimal afterDiscount = NO_DISCOUNT_BOUND;
+        long afterId = 0;
+        if (cursor != null) {
+            Cursor position = Cursor.decode(cursor);
+            if (position.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            afterDiscount = new BigDecimal(position.sortKey());
+            afterId = position.id();
+        }
+
+        Limit rows = Limit.of(pageSize + 1);
+        List<Product> products = category == null
+                ? productRepo.findPageOnSaleByDiscount(afterDiscount, afterId, rows)
+                : productRepo.findPageOnSaleByCategoryAndDiscount(category, afterDiscount, afterId, rows);
+        return CursorPage.of(products, pageSize,
+                product -> new Cursor(product.getDiscountPercentage().toPlainString(), product.getId()),
+                this::toDTO);
     }
 
     /**
-     * Returns products in a category with the exact price.
+     * Returns one page of products in the given category ordered by id.
      *
      * @param category category to match
+     * @param cursor   token of the previous page, or {@code null} for the first page
+     * @param limit    requested page size, or {@code null} for the default
+     * @return the page of matching products
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTOResponse> getByCategory(Category category, String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        List<Product> rows = productRepo.findPageByCategory(category, afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, product -> Cursor.afterId(product.getId()),
+                this::toDTO);
+    }
+
+    /**
+     * Returns products in a category with the exact effective price, served
+     * from the price index.
+     *
+     * @param category category to match, or {@code null} for all products
      * @param price    price to match
      * @return matching products
      */
     @Transactional(readOnly = true)
-    public List<Product> getByCategoryAndPrice(Category category, BigDecimal price) {
-        return productRepo.findByCategoryAndPrice(category, price);
+    public List<ProductDTOResponse> getByCategoryAndPrice(Category category, BigDecimal price) {
+        return toProducts(priceIndex.find(category, price, price, false, null, Integer.MAX_VALUE));
     }
 
     /**
-     * Returns products in a category within the given price range.
+     * Returns one page of products in a category whose effective price is
+     * within the given range, cheapest first, served from the price index.
      *
-     * @param category category to match
-     * @param min      minimum price (inclusive)
-     * @param max      maximum price (inclusive)
-     * @return matching products
+     * @param category category to match, or {@code null} for all products
+     * @param min      minimum price (inclusive), or {@code null} for no lower bound
+     * @param max      maximum price (inclusive), or {@code null} for no upper bound
+     * @param cursor   token of the previous page, or {@code null} for the first page
+     * @param limit    requested page size, or {@code null} for the default
+     * @return the page of matching products
      */
     @Transactional(readOnly = true)
-    public List<Product> getByCategoryAndPriceBetween(Category category, BigDecimal min, BigDecimal max) {
-        return productRepo.findByCategoryAndPriceBetween(category, min, max);
+    public CursorPage<ProductDTOResponse> getByCategoryAndPriceBetween(Category category, BigDecimal min,
+            BigDecimal max, String cursor, Integer limit) {
+        return pricePage(category, min, max, false, cursor, limit);
+    }
+
+    /**
+     * Reads one page of the price index and resolves its products.
+     *
+     * @param category   category to match, or {@code null} for all products
+     * @param min        minimum price (inclusive), or {@code null}
+     * @param max        maximum price (inclusive), or {@code null}
+     * @param onSaleOnly whether to return only products on sale
+     * @param cursor     token of the previous page, or {@code null} for the first page
+     * @param limit      requested page size, or {@code null} for the default
+     * @return the page of products, cheapest first
+     */
+    private CursorPage<ProductDTOResponse> pricePage(Category category, BigDecimal min, BigDecimal max,
+            boolean onSaleOnly, String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        PriceEntry after = null;
+        if (cursor != null) {
+            Cursor position = Cursor.decode(cursor);
+            if (position.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            after = new PriceEntry(new BigDecimal(position.sortKey()), position.id());
+        }
+
+        List<PriceEntry> entries = priceIndex.find(category, min, max, onSaleOnly, after, pageSize + 1);
+        CursorPage<PriceEntry> page = CursorPage.of(entries, pageSize,
+                entry -> new Cursor(entry.price().toPlainString(), entry.productId()), entry -> entry);
+        return new CursorPage<>(toProducts(page.items()), page.nextCursor());
+    }
+
+    /**
+     * Resolves index entries to products in entry order, skipping products
+     * deleted since the entries were read.
+     *
+     * @param entries price index entries
+     * @return the products
+     */
+    private List<ProductDTOResponse> toProducts(List<PriceEntry> entries) {
+        Map<Long, ProductDTOResponse> products = loadProducts(
+                entries.stream().map(PriceEntry::productId).toList());
+        return entries.stream()
+                .map(entry -> products.get(entry.productId()))
+                .filter(Objects::nonNull)
+                .toList();
     }
 }
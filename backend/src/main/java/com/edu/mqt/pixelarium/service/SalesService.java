@@ -0,0 +1,120 @@
+package com.edu.mqt.pixelarium.service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.edu.mqt.pixelarium.model.dto.response.SalesReportDTOResponse;
+import com.edu.mqt.pixelarium.model.entities.SalesAggregate;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.model.enumerated.SalesDimension;
+import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+import com.edu.mqt.pixelarium.repositories.SalesAggregateRepository;
+import com.edu.mqt.pixelarium.sales.SalesAggregator;
+import com.edu.mqt.pixelarium.sales.SalesTotals;
+
+/**
+ * Provides sales reports read from the daily summary rows, so the cost of a
+ * report grows with the number of days covered rather than the number of
+ * orders.
+ */
+@Service
+public class SalesService {
+
+    private final SalesAggregateRepository aggregateRepo;
+    private final SalesAggregator aggregator;
+
+    /**
+     * Creates a service backed by the given dependencies.
+     *
+     * @param aggregateRepo repository of the summary rows
+     * @param aggregator    aggregator flushed before every report
+     */
+    public SalesService(SalesAggregateRepository aggregateRepo, SalesAggregator aggregator) {
+        this.aggregateRepo = aggregateRepo;
+        this.aggregator = aggregator;
+    }
+
+    /**
+     * Returns the sales of every day in {@code [from, to)} that had orders,
+     * optionally restricted to one category or one status.
+     *
+     * @param from     first day (inclusive)
+     * @param to       last day (exclusive)
+     * @param category category to restrict to, or {@code null}
+     * @param status   status to restrict to, or {@code null}
+     * @return one row per day, oldest first, keyed by ISO date
+     * @throws IllegalArgumentException if both a category and a status are given
+     */
+    public List<SalesReportDTOResponse> getDailySales(LocalDate from, LocalDate to, Category category,
+            StatusType status) {
+        if (category != null && status != null) {
+            throw new IllegalArgumentException("Filter by category or by status, not both!");
+        }
+
+        SalesDimension dimension = category != null ? SalesDimension.CATEGORY : SalesDimension.STATUS;
+        String value = category != null ? category.name() : status != null ? status.name() : null;
+
+        Map<LocalDate, SalesTotals> days = new TreeMap<>();
+        for (SalesAggregate aggregate : readRows(dimension, from, to)) {
+            if (value == null || value.equals(aggregate.getId().getDimensionValue())) {
+                days.merge(aggregate.getId().getSaleDate(), aggregate.totals(), SalesTotals::plus);
+            }
+        }
+        return toReport(days);
+    }
+
+    /**
+     * Returns the sales of each category in {@code [from, to)}. An order
+     * counts once for every category it has lines in.
+     *
+     * @param from first day (inclusive)
+     * @param to   last day (exclusive)
+     * @return one row per category that had sales, keyed by category name
+     */
+    public List<SalesReportDTOResponse> getSalesByCategory(LocalDate from, LocalDate to) {
+        return sumPerValue(SalesDimension.CATEGORY, from, to);
+    }
+
+    /**
+     * Returns the sales of each order status in {@code [from, to)}.
+     *
+     * @param from first day (inclusive)
+     * @param to   last day (exclusive)
+     * @return one row per status that had orders, keyed by status name
+     */
+    public List<SalesReportDTOResponse> getSalesByStatus(LocalDate from, LocalDate to) {
+        return sumPerValue(SalesDimension.STATUS, from, to);
+    }
+
+    private List<SalesReportDTOResponse> sumPerValue(SalesDimension dimension, LocalDate from, LocalDate to) {
+        Map<String, SalesTotals> values = new TreeMap<>();
+        for (SalesAggregate aggregate : readRows(dimension, from, to)) {
+            values.merge(aggregate.getId().getDimensionValue(), aggregate.totals(), SalesTotals::plus);
+        }
+        return toReport(values);
+    }
+
+    private List<SalesAggregate> readRows(SalesDimension dimension, LocalDate from, LocalDate to) {
+        aggregator.flush();
+        return aggregateRepo.findByDimensionBetween(dimension, from, to);
+    }
+
+    private static List<SalesReportDTOResponse> toReport(Map<?, SalesTotals> rows) {
+        Map<String, SalesTotals> nonEmpty = new LinkedHashMap<>();
+        rows.forEach((key, totals) -> {
+            if (totals.orders() > 0) {
+                nonEmpty.put(key.toString(), totals);
+            }
+        });
+        return nonEmpty.entrySet()
+                .stream()
+                .map(row -> new SalesReportDTOResponse(row.getKey(), row.getValue().orders(),
+                        row.getValue().units(), row.getValue().revenue()))
+                .toList();
+    }
+}
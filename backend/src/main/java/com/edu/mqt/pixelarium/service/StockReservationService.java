@@ -0,0 +1,253 @@
+package com.edu.mqt.pixelarium.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.concurrent.ShardedCounter;
+import com.edu.mqt.pixelarium.concurrent.StripedLocks;
+import com.edu.mqt.pixelarium.event.StockChangedEvent;
+import com.edu.mqt.pixelarium.exception.InsufficientStockException;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.model.entities.StockMovement;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.StockMovementRepository;
+import com.edu.mqt.pixelarium.stock.FlashSaleStock;
+
+/**
+ * Reserves and releases product stock for orders.
+ * <p>
+ * Stock is taken with conditional {@code UPDATE} statements that only succeed
+ * while enough units are left, so concurrent checkouts can never oversell.
+ * All lines of an order are reserved in the caller's transaction: if any line
+ * fails, the transaction rolls back and no stock is taken at all.
+ * <p>
+ * Checkouts touching the same products queue on in-process lock stripes
+ * until their transaction completes, instead of piling up on database row
+ * locks. Products are always updated in ascending id order so overlapping
+ * orders cannot deadlock.
+ * <p>
+ * Products on flash sale are the exception: their units come from the
+ * product's {@link ShardedCounter} and each change is appended as a
+ * {@link StockMovement} instead of updating the hot product row, so their
+ * checkouts run side by side holding their lock stripe in shared mode only.
+ * Units taken by a transaction that rolls back go back to the counter.
+ * <p>
+ * Rows updated with SQL are locked in the second-level cache until the
+ * transaction completes, so no session caches their old stock.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class StockReservationService {
+
+    private final ProductRepository productRepo;
+    private final StockMovementRepository movementRepo;
+    private final FlashSaleStock flashSaleStock;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedLocks locks;
+
+    /**
+     * Creates a service backed by the given dependencies.
+     *
+     * @param productRepo      repository used to update stock
+     * @param movementRepo     repository recording flash-sale stock changes
+     * @param flashSaleStock   counters of the products on flash sale
+     * @param secondLevelCache cache in which updated products are locked
+     * @param eventPublisher   publisher used to announce stock changes
+     * @param lockStripes      number of in-process lock stripes
+     */
+    public StockReservationService(ProductRepository productRepo, StockMovementRepository movementRepo,
+            FlashSaleStock flashSaleStock, SecondLevelCache secondLevelCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${pixelarium.stock.lock-stripes:64}") int lockStripes) {
+        this.productRepo = productRepo;
+        this.movementRepo = movementRepo;
+        this.flashSaleStock = flashSaleStock;
+        this.secondLevelCache = secondLevelCache;
+        this.eventPublisher = eventPublisher;
+        this.locks = new StripedLocks(lockStripes);
+    }
+
+    /**
+     * Takes the requested units of every product, or none of them.
+     *
+     * @param quantities units to take per product id
+     * @throws InsufficientStockException if any product does not have enough
+     *                                    stock, listing every such product
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        Map<Long, ShardedCounter> counters = lockLines(sorted.keySet());
+
+        List<Long> insufficient = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        Map<ShardedCounter, Integer> taken = new HashMap<>();
+        if (!counters.isEmpty()) {
+            giveBackOnRollback(taken);
+        }
+        for (Map.Entry<Long, Integer> line : sorted.entrySet()) {
+            ShardedCounter counter = counters.get(line.getKey());
+            if (counter == null) {
+                secondLevelCache.lockUntilCompletion(Product.class, List.of(line.getKey()));
+                if (productRepo.decrementStock(line.getKey(), line.getValue()) == 0) {
+                    insufficient.add(line.getKey());
+                }
+                updated.add(line.getKey());
+            } else if (counter.tryTake(line.getValue())) {
+                taken.put(counter, line.getValue());
+                movementRepo.save(new StockMovement(line.getKey(), -line.getValue()));
+            } else {
+                insufficient.add(line.getKey());
+            }
+        }
+
+        if (!insufficient.isEmpty()) {
+            throw new InsufficientStockException(insufficient);
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(updated));
+        }
+    }
+
+    /**
+     * Gives previously reserved units back to stock.
+     *
+     * @param quantities units to return per product id
+     */
+    public void release(Map<Long, Integer> quantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        Map<Long, ShardedCounter> counters = lockLines(sorted.keySet());
+
+        List<Long> updated = new ArrayList<>();
+        Map<ShardedCounter, Integer> returned = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : sorted.entrySet()) {
+            ShardedCounter counter = counters.get(line.getKey());
+            if (counter == null) {
+                secondLevelCache.lockUntilCompletion(Product.class, List.of(line.getKey()));
+                productRepo.incrementStock(line.getKey(), line.getValue());
+                updated.add(line.getKey());
+            } else {
+                returned.put(counter, line.getValue());
+                movementRepo.save(new StockMovement(line.getKey(), line.getValue()));
+            }
+        }
+        giveOnCommit(returned);
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(updated));
+        }
+    }
+
+    /**
+     * Locks products against every reservation and release until the
+     * surrounding transaction completes. Used to move products in and out of
+     * flash-sale mode.
+     *
+     * @param productIds products to lock
+     */
+    public void lockExclusively(Collection<Long> productIds) {
+        holdUntilCompletion(locks.lockAll(productIds));
+    }
+
+    /**
+     * Locks products against {@link #lockExclusively} until the surrounding
+     * transaction completes, without blocking flash-sale checkouts.
+     *
+     * @param productIds products to lock
+     */
+    public void lockShared(Collection<Long> productIds) {
+        holdUntilCompletion(locks.lockAll(List.of(), productIds));
+    }
+
+    /**
+     * Locks the stripes of an order's products: shared for the products on
+     * flash sale, exclusive for the others. Flash-sale mode only changes
+     * under an exclusive lock, so the lines are classified again once the
+     * locks are held and the locking is retried if a product switched mode
+     * in between.
+     *
+     * @return the counters of the products on flash sale, by product id
+     */
+    private Map<Long, ShardedCounter> lockLines(Collection<Long> productIds) {
+        while (true) {
+            Map<Long, ShardedCounter> counters = countersOf(productIds);
+            List<Long> regular = productIds.stream().filter(id -> !counters.containsKey(id)).toList();
+            List<Lock> acquired = locks.lockAll(regular, counters.keySet());
+            if (counters.equals(countersOf(productIds))) {
+                holdUntilCompletion(acquired);
+                return counters;
+            }
+            locks.unlockAll(acquired);
+        }
+    }
+
+    private Map<Long, ShardedCounter> countersOf(Collection<Long> productIds) {
+        Map<Long, ShardedCounter> counters = new HashMap<>();
+        for (Long productId : productIds) {
+            ShardedCounter counter = flashSaleStock.get(productId);
+            if (counter != null) {
+                counters.put(productId, counter);
+            }
+        }
+        return counters;
+    }
+
+    /**
+     * Gives the units in {@code taken} back to their counters if the
+     * surrounding transaction rolls back. Registered before any unit is
+     * taken, so units taken before a later line fails are returned as well.
+     *
+     * @param taken units taken per counter, filled in by the caller
+     */
+    private void giveBackOnRollback(Map<ShardedCounter, Integer> taken) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    taken.forEach(ShardedCounter::give);
+                }
+            }
+        });
+    }
+
+    private void giveOnCommit(Map<ShardedCounter, Integer> returned) {
+        if (returned.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                returned.forEach(ShardedCounter::give);
+            }
+        });
+    }
+
+    /**
+     * Keeps the locks until the surrounding transaction commits or rolls
+     * back, which is when the database releases its row locks as well.
+     *
+     * @param acquired locks to release on completion
+     */
+    private void holdUntilCompletion(List<Lock> acquired) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.unlockAll(acquired);
+            }
+        });
+    }
+}
@@ -1,48 +1,108 @@
 package com.edu.mqt.pixelarium.service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.cache.SignupFilter;
+import com.edu.mqt.pixelarium.cache.UserLookupCache;
+
+import com.edu.mqt.pixelarium.event.RegistrationChangedEvent;
 import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
+import com.edu.mqt.pixelarium.exception.ServiceBusyException;
 import com.edu.mqt.pixelarium.mapper.EntityToDtoMapper;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
 import com.edu.mqt.pixelarium.model.dto.response.UserDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.User;
 import com.edu.mqt.pixelarium.model.vo.Email;
+import com.edu.mqt.pixelarium.pagination.Cursor;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.pagination.PageSizePolicy;
 import com.edu.mqt.pixelarium.repositories.UserRepository;
+import com.edu.mqt.pixelarium.security.PasswordHasher;
+import com.edu.mqt.pixelarium.security.SessionTokens;
 
 /**
  * Provides user-related business operations.
+ * <p>
+ * Methods that hash or check a password do it on the {@link PasswordHasher}
+ * pool outside any transaction, so no database connection is held while a
+ * hash is computed; their writes run in transactions of their own.
  */
 @Service
 @Transactional
 public class UserService {
 
+    private static final LocalDate FIRST_REGISTER_DAY = LocalDate.EPOCH;
+    private static final LocalDate LAST_REGISTER_DAY = LocalDate.of(9999, 12, 31);
+
     private final UserRepository userRepo;
+    private final PageSizePolicy pageSizePolicy;
+    private final SecondLevelCache secondLevelCache;
+    private final SignupFilter signupFilter;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHasher passwordHasher;
+    private final SessionTokens sessionTokens;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Creates a service backed by the given repository.
+     * Creates a service backed by the given dependencies.
      *
-     * @param userRepo repository used to persist users
+     * @param userRepo           repository used to persist users
+     * @param pageSizePolicy     policy resolving requested page sizes
+     * @param secondLevelCache   Hibernate cache kept in step with the SQL writes
+     * @param signupFilter       filter ruling out unregistered emails and names
+     * @param userLookupCache    cache of user ids by email and user name
+     * @param passwordHasher     pool hashing and checking passwords
+     * @param sessionTokens      tokens revoked on deletes and password changes
+     * @param eventPublisher     publisher used to announce registrations and deletes
+     * @param transactionManager manager of the writes made after hashing
      */
-    public UserService(UserRepository userRepo) {
+    public UserService(UserRepository userRepo, PageSizePolicy pageSizePolicy, SecondLevelCache secondLevelCache,
+            SignupFilter signupFilter, UserLookupCache userLookupCache, PasswordHasher passwordHasher,
+            SessionTokens sessionTokens, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
         this.userRepo = userRepo;
+        this.pageSizePolicy = pageSizePolicy;
+        this.secondLevelCache = secondLevelCache;
+        this.signupFilter = signupFilter;
+        this.userLookupCache = userLookupCache;
+        this.passwordHasher = passwordHasher;
+        this.sessionTokens = sessionTokens;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // ========= CRRUD =========
 
     /**
-     * Returns all users.
+     * Returns one page of users ordered by id.
      *
-     * @return the list of users
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of users
      */
     @Transactional(readOnly = true)
-    public List<User> getUsers() {
-        return userRepo.findAll();
+    public CursorPage<UserDTOResponse> getUsers(String cursor, Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        long afterId = cursor == null ? 0 : Cursor.decode(cursor).id();
+        List<User> rows = userRepo.findPageAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> Cursor.afterId(user.getId()), EntityToDtoMapper::toUserDTO);
     }
 
     /**
@@ -58,87 +118,213 @@ public class UserService {
     }
 
     /**
-     * Updates an existing user if it already exists.
+     * Updates an existing user if it already exists. A password that is not
+     * already a hash is hashed first. The email and user name are added to
+     * the signup filter, since either may be new, and a changed password
+     * revokes the user's session tokens.
      *
      * @param user user data to persist
      * @return the saved user, or {@code null} if the user does not exist
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User updateUser(User user) {
-        if (!userRepo.existsById(user.getId())) {
-            throw new ResourceNotFoundException("User not found with id: " + user.getId());
+        User current = userRepo.findById(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + user.getId()));
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().equals(current.getPassword());
+        if (user.getPassword() != null && !passwordHasher.isHash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
         }
-        return userRepo.save(user);
+        userLookupCache.invalidateUser(user.getId());
+        User updated = userRepo.save(user);
+        signupFilter.add(user.getEmail() == null ? null : user.getEmail().value(), user.getUserName());
+        if (passwordChanged) {
+            sessionTokens.revokeUser(user.getId());
+        }
+        return updated;
     }
 
     /**
-     * Deletes a user by id.
+     * Applies the non-null fields of a patch with one conditional UPDATE,
+     * checked against the patch's version instead of an existence probe. A
+     * new password revokes the user's session tokens.
      *
-     * @param id user identifier
-     * @throws java.util.NoSuchElementException if the user does not exist
+     * @param id    user identifier
+     * @param patch fields to change and the expected version
+     * @throws ResourceNotFoundException          if the user does not exist
+     * @throws OptimisticLockingFailureException if the version does not match
+     * @throws IllegalArgumentException           if a value is invalid or the
+     *                                            email or user name is taken
+     * @throws ServiceBusyException               if a new password cannot be
+     *                                            hashed right now
      */
-    public void deleteUser(Long id) {
-        if (!userRepo.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void patchUser(Long id, UpdateUserDTORequest patch) {
+        String email = patch.email() == null ? null : new Email(patch.email()).value();
+        if (sentBlank(patch.firstName()) || sentBlank(patch.lastName()) || sentBlank(patch.userName())) {
+            throw new IllegalArgumentException("Names cannot be blank!");
+        }
+        String password = patch.password() == null ? null : passwordHasher.hash(patch.password());
+
+        if (email != null || patch.userName() != null) {
+            userLookupCache.invalidateUser(id);
+        }
+        int updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                secondLevelCache.lockUntilCompletion(User.class, List.of(id));
+                return userRepo.patch(id, patch.version(), email, password, patch.firstName(), patch.lastName(),
+                        patch.userName());
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Email or username already exists");
+        }
+        if (updated == 0) {
+            throw missedWrite(id, patch.version());
+        }
+        signupFilter.add(email, patch.userName());
+        if (password != null) {
+            sessionTokens.revokeUser(id);
         }
-        userRepo.deleteById(id);
+    }
+
+    /**
+     * Deletes a user with one conditional DELETE; the database removes the
+     * user's orders and their lines, and the user's session tokens are
+     * revoked. The registration day is read first, from the second-level
+     * cache when the user is in it, so the histogram can drop the user.
+     *
+     * @param id      user identifier
+     * @param version expected version, or {@code null} to skip the check
+     * @throws ResourceNotFoundException          if the user does not exist
+     * @throws OptimisticLockingFailureException if the version does not match
+     */
+    public void deleteUser(Long id, Long version) {
+        userLookupCache.invalidateUser(id);
+        Optional<LocalDate> registerTime = userRepo.findById(id).map(User::getRegisterTime);
+        secondLevelCache.lockUntilCompletion(User.class, List.of(id));
+        if (userRepo.deleteByIdAndVersion(id, version) == 0) {
+            throw missedWrite(id, version);
+        }
+        signupFilter.userDeleted();
+        sessionTokens.revokeUser(id);
+        registerTime.ifPresent(day -> eventPublisher.publishEvent(new RegistrationChangedEvent(day, -1)));
+    }
+
+    /**
+     * Explains why a conditional write matched no row. Only failed writes pay
+     * for this extra read.
+     *
+     * @param id      user identifier
+     * @param version version the write expected, or {@code null}
+     * @return the exception to throw
+     */
+    private RuntimeException missedWrite(Long id, Long version) {
+        Optional<Long> current = userRepo.findVersionById(id);
+        if (current.isEmpty()) {
+            return new ResourceNotFoundException("User not found with id: " + id);
+        }
+        return new OptimisticLockingFailureException(
+                "User " + id + " is at version " + current.get() + ", not " + version);
+    }
+
+    /**
+     * Returns whether a patch field was sent, but blank.
+     */
+    private static boolean sentBlank(String value) {
+        return value != null && value.isBlank();
     }
 
     // ========= CUSTOM METHODS =========
 
     /**
-     * Creates a new user after validating uniqueness constraints.
+     * Creates a new user after validating uniqueness constraints. The
+     * uniqueness queries run only for keys the signup filter cannot rule
+     * out; the unique constraints catch whatever slips past them.
      *
      * @param userDTO request payload with user data
      * @return the created user
      * @throws IllegalArgumentException if the email is already used
      * @throws IllegalArgumentException if the user name is already used
+     * @throws ServiceBusyException     if the password cannot be hashed
+     *                                  right now
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(CreateUserDTORequest userDTO) {
         String email = userDTO.email();
-        if (userRepo.existsByEmail(email)) {
+        if (signupFilter.emailTaken(email, userRepo::existsByEmail)) {
             throw new IllegalArgumentException("Email already exists: " + email);
         }
 
         String userName = userDTO.userName();
-        if (userRepo.existsByUserName(userName)) {
+        if (signupFilter.userNameTaken(userName, userRepo::existsByUserName)) {
             throw new IllegalArgumentException("Username already exists: " + userName);
         }
 
         User newUser = new User();
 
         newUser.setUserName(userName);
-        newUser.setPassword(encodePassword(userDTO.password())); // Codificar password
+        newUser.setPassword(passwordHasher.hash(userDTO.password()));
         newUser.setRealName(userDTO.firstName());
         newUser.setSurname(userDTO.lastName());
         newUser.setEmail(new Email(userDTO.email()));
         newUser.setRegisterTime(LocalDate.now());
 
-        return userRepo.save(newUser);
+        User created;
+        try {
+            created = userRepo.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Email or username already exists");
+        }
+        signupFilter.add(email, userName);
+        eventPublisher.publishEvent(new RegistrationChangedEvent(created.getRegisterTime(), 1));
+        return created;
     }
 
     /**
-     * Encodes the raw password.
+     * Logs a user in. A stored password in plain text or hashed at another
+     * cost is replaced by a new hash once the password has matched.
      *
-     * @param rawPassword password in plain text
-     * @return the encoded password
+     * @param email    email address of the user
+     * @param password password in plain text
+     * @return the logged in user
+     * @throws ResourceNotFoundException if no user has the email
+     * @throws IllegalArgumentException  if the password does not match
+     * @throws ServiceBusyException      if the password cannot be checked
+     *                                   right now
      */
-    private String encodePassword(String rawPassword) {
-        // TODO: Inyectar BCryptPasswordEncoder y usar
-        // return passwordEncoder.encode(rawPassword);
-        return rawPassword;
-    }
-
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTOResponse login(String email, String password) {
-        User user = userRepo.findByEmail(email)
+        User user = userLookupCache.findByEmail(email, userRepo::findById, userRepo::findByEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
-        if (!user.getPassword().equals(password)) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new IllegalArgumentException("Invalid password");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehash(user, password);
+        }
 
         return EntityToDtoMapper.toUserDTO(user);
     }
 
+    /**
+     * Replaces a user's stored password by a hash at the current cost, unless
+     * the password changed meanwhile. A saturated pool only postpones the
+     * rehash to a later login.
+     */
+    private void rehash(User user, String password) {
+        String hash;
+        try {
+            hash = passwordHasher.hash(password);
+        } catch (ServiceBusyException ex) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            secondLevelCache.lockUntilCompletion(User.class, List.of(user.getId()));
+            userRepo.replacePassword(user.getId(), user.getPassword(), hash);
+        });
+    }
+
     /**
      * Returns a user by user name.
      *
@@ -147,7 +333,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User getUserByUserName(String userName) {
-        return userRepo.findByUserName(userName);
+        return userLookupCache.findByUserName(userName, userRepo::findById,
+                name -> Optional.ofNullable(userRepo.findByUserName(name))).orElse(null);
     }
 
     /**
@@ -159,7 +346,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User getUserByEmail(String emailValue) {
-        return userRepo.findByEmail(emailValue)
+        return userLookupCache.findByEmail(emailValue, userRepo::findById, userRepo::findByEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + emailValue));
     }
 
@@ -171,7 +358,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return userRepo.existsByEmail(email);
+        return signupFilter.emailTaken(email, userRepo::existsByEmail);
     }
 
     /**
@@ -182,51 +369,45 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByUserName(String userName) {
-        return userRepo.existsByUserName(userName);
-    }
-
-    /**
-     * Returns users registered on the given date.
-     *
-     * @param registerTime registration date to match
-     * @return users registered on the provided date
-     */
-    @Transactional(readOnly = true)
-    public List<User> getUsersByRegisterTime(LocalDate registerTime) {
-        return userRepo.findByRegisterTime(registerTime);
-    }
-
-    /**
-     * Returns users registered after the given date.
-     *
-     * @param date lower bound registration date (exclusive)
-     * @return users registered after the provided date
-     */
-    @Transactional(readOnly = true)
-    public List<User> getUsersByRegisterTimeAfter(LocalDate date) {
-        return userRepo.findByRegisterTimeAfter(date);
+        return signupFilter.userNameTaken(userName, userRepo::existsByUserName);
     }
 
     /**
-     * Returns users registered before the given date.
+     * Returns one page of the users registered in {@code [from, to)}, ordered
+     * by registration day and id.
      *
-     * @param date upper bound registration date (exclusive)
-     * @return users registered before the provided date
+     * @param from   first registration day (inclusive), or {@code null} for
+     *               no lower bound
+     * @param to     last registration day (exclusive), or {@code null} for
+     *               no upper bound
+     * @param cursor token of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default
+     * @return the page of users
+     * @throws IllegalArgumentException if the cursor is malformed
      */
     @Transactional(readOnly = true)
-    public List<User> getUsersByRegisterTimeBefore(LocalDate date) {
-        return userRepo.findByRegisterTimeBefore(date);
-    }
+    public CursorPage<UserDTOResponse> getUsersRegisteredBetween(LocalDate from, LocalDate to, String cursor,
+            Integer limit) {
+        int pageSize = pageSizePolicy.resolve(limit);
+        LocalDate start = from == null ? FIRST_REGISTER_DAY : from;
+        LocalDate end = to == null ? LAST_REGISTER_DAY : to;
+        LocalDate afterDay = start;
+        long afterId = 0;
+        if (cursor != null) {
+            Cursor position = Cursor.decode(cursor);
+            if (position.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                afterDay = LocalDate.parse(position.sortKey());
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            afterId = position.id();
+        }
 
-    /**
-     * Returns users registered between the given dates.
-     *
-     * @param initialDate start date (inclusive)
-     * @param finalDate   end date (inclusive)
-     * @return users registered within the given date range
-     */
-    @Transactional(readOnly = true)
-    public List<User> getUsersByRegisterTimeBetween(LocalDate initialDate, LocalDate finalDate) {
-        return userRepo.findByRegisterTimeBetween(initialDate, finalDate);
+        List<User> rows = userRepo.findRegisteredBetween(start, end, afterDay, afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> new Cursor(user.getRegisterTime().toString(), user.getId()),
+                EntityToDtoMapper::toUserDTO);
     }
 }
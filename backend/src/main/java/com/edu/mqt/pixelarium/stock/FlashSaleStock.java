@@ -0,0 +1,100 @@
+package com.edu.mqt.pixelarium.stock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.edu.mqt.pixelarium.concurrent.ShardedCounter;
+import com.edu.mqt.pixelarium.model.entities.FlashSale;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.repositories.FlashSaleRepository;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.StockMovementRepository;
+
+/**
+ * Live stock of the products on flash sale, one {@link ShardedCounter} per
+ * product. The counters are the source of truth for these products while
+ * the sale runs; the {@code stock} column trails them by the movements not
+ * yet folded into it.
+ */
+@Component
+public class FlashSaleStock implements SmartInitializingSingleton {
+
+    private final FlashSaleRepository flashSaleRepo;
+    private final ProductRepository productRepo;
+    private final StockMovementRepository movementRepo;
+    private final Map<Long, ShardedCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry that is populated from the given repositories on
+     * startup.
+     *
+     * @param flashSaleRepo repository of the running flash sales
+     * @param productRepo   repository used to read the stock columns
+     * @param movementRepo  repository of the movements not yet folded
+     */
+    public FlashSaleStock(FlashSaleRepository flashSaleRepo, ProductRepository productRepo,
+            StockMovementRepository movementRepo) {
+        this.flashSaleRepo = flashSaleRepo;
+        this.productRepo = productRepo;
+        this.movementRepo = movementRepo;
+    }
+
+    /**
+     * Restores the counters of the running flash sales before the web server
+     * accepts orders: each starts from the stock column plus the movements
+     * not yet folded into it.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        counters.clear();
+        for (FlashSale sale : flashSaleRepo.findAll()) {
+            int stock = productRepo.findById(sale.getProductId()).map(Product::getStock).orElse(0);
+            int pending = (int) movementRepo.sumByProductId(sale.getProductId());
+            counters.put(sale.getProductId(), new ShardedCounter(sale.getShards(), Math.max(0, stock + pending)));
+        }
+    }
+
+    /**
+     * Returns the counter of a product on flash sale.
+     *
+     * @param productId product identifier
+     * @return the counter, or {@code null} if the product is not on flash sale
+     */
+    public ShardedCounter get(Long productId) {
+        return counters.get(productId);
+    }
+
+    /**
+     * Returns the live stock of a product on flash sale.
+     *
+     * @param productId product identifier
+     * @return the units left, or {@code null} if the product is not on flash
+     *         sale
+     */
+    public Integer liveStock(Long productId) {
+        ShardedCounter counter = counters.get(productId);
+        return counter == null ? null : counter.total();
+    }
+
+    /**
+     * Starts serving the stock of a product from the given counter.
+     *
+     * @param productId product identifier
+     * @param counter   counter holding the product's stock
+     */
+    public void put(Long productId, ShardedCounter counter) {
+        counters.put(productId, counter);
+    }
+
+    /**
+     * Stops serving the stock of a product from a counter.
+     *
+     * @param productId product identifier
+     */
+    public void remove(Long productId) {
+        counters.remove(productId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.edu.mqt.pixelarium.web;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+
+/**
+ * Builds responses for keyset-paginated listings. The page items are the
+ * response body and the next-page token travels in the
+ * {@value #NEXT_CURSOR_HEADER} header, which is absent on the last page.
+ */
+final class CursorResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {}
+
+    /**
+     * Creates a {@code 200 OK} response for the given page.
+     *
+     * @param page page to return
+     * @param <T>  item type
+     * @return the response
+     */
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+}
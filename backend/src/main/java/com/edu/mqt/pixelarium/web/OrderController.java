@@ -3,16 +3,28 @@ package com.edu.mqt.pixelarium.web;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.edu.mqt.pixelarium.cache.IdempotencyStore;
+import com.edu.mqt.pixelarium.mapper.EntityToDtoMapper;
 import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.OrderDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.Order;
 import com.edu.mqt.pixelarium.model.vo.Status;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.security.SessionTokens;
 import com.edu.mqt.pixelarium.service.OrderService;
 
 import jakarta.validation.Valid;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,7 +32,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Exposes order-related endpoints under {@code /api/orders}.
@@ -29,26 +44,44 @@ import org.springframework.web.bind.annotation.PutMapping;
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int STREAM_CHUNK_SIZE = 200;
+
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final JsonMapper jsonMapper;
+    private final SessionTokens sessionTokens;
 
     /**
-     * Creates a controller backed by the given order service.
+     * Creates a controller backed by the given dependencies.
      *
-     * @param orderService service used to handle order operations
+     * @param orderService     service used to handle order operations
+     * @param idempotencyStore store used to replay retried order creations
+     * @param jsonMapper       mapper used to write streamed orders
+     * @param sessionTokens    checker of the session tokens of user requests
      */
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, IdempotencyStore idempotencyStore, JsonMapper jsonMapper,
+            SessionTokens sessionTokens) {
         this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.jsonMapper = jsonMapper;
+        this.sessionTokens = sessionTokens;
     }
 
     /**
-     * Returns all orders.
+     * Returns one page of orders ordered by id.
      *
-     * @return the list of orders
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of orders, with the next-page token in the
+     *         {@code X-Next-Cursor} header
      */
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTOResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<OrderDTOResponse> orders = orderService.getOrders(cursor, limit);
+        return CursorResponses.ok(orders);
     }
 
     /**
@@ -64,14 +97,20 @@ public class OrderController {
     }
 
     /**
-     * Creates a new order from the provided request payload.
+     * Creates a new order from the provided request payload. Requests sent
+     * with the same {@code Idempotency-Key} header create the order only once;
+     * retries receive the original response.
      *
-     * @param orderDTO draft order data and line items
+     * @param idempotencyKey optional client-chosen key identifying the request
+     * @param orderDTO       draft order data and line items
      * @return the created order
      */
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody CreateOrderDTORequest orderDTO) {
-        Order createdOrder = orderService.createOrder(orderDTO);
+    public ResponseEntity<OrderDTOResponse> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderDTORequest orderDTO) {
+        OrderDTOResponse createdOrder = idempotencyStore.execute(idempotencyKey, orderDTO,
+                () -> EntityToDtoMapper.toOrderDTO(orderService.createOrder(orderDTO)));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
@@ -94,12 +133,15 @@ public class OrderController {
     /**
      * Deletes an order by its identifier.
      *
-     * @param id order identifier
+     * @param id      order identifier
+     * @param version expected version, if the delete should be checked
      * @return an empty response with {@code 204 No Content}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-        orderService.deleteOrder(id);
+    public ResponseEntity<Void> deleteOrder(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version) {
+        orderService.deleteOrder(id, version);
         return ResponseEntity.noContent().build();
     }
 
@@ -132,43 +174,157 @@ public class OrderController {
     }
 
     /**
-     * Returns all orders placed by a given user.
+     * Returns one page of orders placed by a given user. Requires a session
+     * token of that user.
      *
-     * @param id user identifier
-     * @return the list of orders created by the user
+     * @param id            user identifier
+     * @param authorization {@code Bearer} session token of the user
+     * @param cursor        next-page token from a previous response, if any
+     * @param limit         requested page size
+     * @return the page of orders created by the user
      */
     @GetMapping("/user/{id}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable Long id) {
-        List<Order> userOrders = orderService.findByUserId(id);
-        return ResponseEntity.ok(userOrders);
+    public ResponseEntity<List<OrderDTOResponse>> getUserOrders(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        sessionTokens.authorize(authorization, id);
+        CursorPage<OrderDTOResponse> userOrders = orderService.findByUserId(id, cursor, limit);
+        return CursorResponses.ok(userOrders);
     }
 
     /**
-     * Returns orders that match the provided status.
+     * Returns one page of orders that match the provided status.
      *
      * @param statusType status to filter by
-     * @return the list of orders with the requested status
+     * @param cursor     next-page token from a previous response, if any
+     * @param limit      requested page size
+     * @return the page of orders with the requested status
      */
     @GetMapping("/status/{statusType}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable Status.StatusType statusType) {
+    public ResponseEntity<List<OrderDTOResponse>> getOrdersByStatus(
+            @PathVariable Status.StatusType statusType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Status status = new Status(statusType);
-        List<Order> statusOrders = orderService.findByStatus(status);
-        return ResponseEntity.ok(statusOrders);
+        CursorPage<OrderDTOResponse> statusOrders = orderService.findByStatus(status, cursor, limit);
+        return CursorResponses.ok(statusOrders);
     }
 
     /**
-     * Returns orders with a specific order date.
+     * Returns one page of the orders placed on a given day, oldest first.
      *
-     * @param date order date-time in ISO-8601 format
-     * @return the list of orders matching the given date-time
+     * @param date   day in ISO-8601 format ({@code yyyy-MM-dd})
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of orders placed on that day
      * @throws java.time.format.DateTimeParseException if {@code date} is not a
-     *                                                 valid date-time
+     *                                                 valid date
      */
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Order>> getOrdersByDate(@PathVariable String date) {
-        LocalDateTime dateTime = LocalDateTime.parse(date);
-        List<Order> orders = orderService.findByOrderDate(dateTime);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTOResponse>> getOrdersByDate(
+            @PathVariable String date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        LocalDate day = LocalDate.parse(date);
+        CursorPage<OrderDTOResponse> orders = orderService.findByOrderDateBetween(
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), null, null, cursor, limit);
+        return CursorResponses.ok(orders);
+    }
+
+    /**
+     * Returns one page of the orders placed in a given month, oldest first.
+     *
+     * @param month  month in ISO-8601 format ({@code yyyy-MM})
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of orders placed in that month
+     * @throws java.time.format.DateTimeParseException if {@code month} is not a
+     *                                                 valid month
+     */
+    @GetMapping("/month/{month}")
+    public ResponseEntity<List<OrderDTOResponse>> getOrdersByMonth(
+            @PathVariable String month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        YearMonth yearMonth = YearMonth.parse(month);
+        CursorPage<OrderDTOResponse> orders = orderService.findByOrderDateBetween(
+                yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay(),
+                null, null, cursor, limit);
+        return CursorResponses.ok(orders);
+    }
+
+    /**
+     * Returns one page of the orders placed in {@code [from, to)}, oldest
+     * first, optionally for a single user or status. Restricting to a user
+     * requires that user's session token.
+     *
+     * @param from          start of the range (inclusive), ISO-8601 date-time
+     * @param to            end of the range (exclusive), ISO-8601 date-time
+     * @param userId        user to restrict to
+     * @param statusType    status to restrict to
+     * @param authorization {@code Bearer} session token of the user, when
+     *                      restricting to one
+     * @param cursor        next-page token from a previous response, if any
+     * @param limit         requested page size
+     * @return the page of orders placed in the range
+     */
+    @GetMapping("/range")
+    public ResponseEntity<List<OrderDTOResponse>> getOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(name = "status", required = false) Status.StatusType statusType,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (userId != null) {
+            sessionTokens.authorize(authorization, userId);
+        }
+        CursorPage<OrderDTOResponse> orders = orderService.findByOrderDateBetween(
+                from, to, userId, statusType, cursor, limit);
+        return CursorResponses.ok(orders);
+    }
+
+    /**
+     * Streams every order placed in {@code [from, to)} as newline-delimited
+     * JSON, oldest first. Orders are read and written one page at a time, so
+     * large ranges are never held in memory. Restricting to a user requires
+     * that user's session token, checked before streaming starts.
+     *
+     * @param from          start of the range (inclusive), ISO-8601 date-time
+     * @param to            end of the range (exclusive), ISO-8601 date-time
+     * @param userId        user to restrict to
+     * @param statusType    status to restrict to
+     * @param authorization {@code Bearer} session token of the user, when
+     *                      restricting to one
+     * @return the streamed orders, one JSON document per line
+     */
+    @GetMapping(value = "/range/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(name = "status", required = false) Status.StatusType statusType,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (userId != null) {
+            sessionTokens.authorize(authorization, userId);
+        }
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                CursorPage<OrderDTOResponse> page = orderService.findByOrderDateBetween(
+                        from, to, userId, statusType, cursor, STREAM_CHUNK_SIZE);
+                for (OrderDTOResponse order : page.items()) {
+                    out.write(jsonMapper.writeValueAsBytes(order));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /**
@@ -178,8 +334,8 @@ public class OrderController {
      * @return the list of orders with the requested total price
      */
     @GetMapping("/price/{price}")
-    public ResponseEntity<List<Order>> getOrdersByPrice(@PathVariable Double price) {
-        List<Order> priceOrders = orderService.findByTotalPrice(price);
+    public ResponseEntity<List<OrderDTOResponse>> getOrdersByPrice(@PathVariable Double price) {
+        List<OrderDTOResponse> priceOrders = orderService.findByTotalPrice(price);
         return ResponseEntity.ok(priceOrders);
     }
 }
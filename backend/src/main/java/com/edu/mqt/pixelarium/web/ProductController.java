@@ -4,25 +4,40 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.edu.mqt.pixelarium.imports.ImportResult;
+import com.edu.mqt.pixelarium.imports.ProductRowReader;
 import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.BestSellerDTOResponse;
+import com.edu.mqt.pixelarium.model.dto.response.FlashSaleDTOResponse;
 import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+import com.edu.mqt.pixelarium.model.dto.response.ProductFacetsDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.Product;
 import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.service.FlashSaleService;
+import com.edu.mqt.pixelarium.service.ProductImportService;
 import com.edu.mqt.pixelarium.service.ProductService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Exposes product-related endpoints under {@code /api/products}.
@@ -31,26 +46,58 @@ import org.springframework.web.bind.annotation.PutMapping;
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final ProductService productService;
+    private final ProductImportService importService;
+    private final FlashSaleService flashSaleService;
+    private final JsonMapper jsonMapper;
 
     /**
-     * Creates a controller backed by the given product service.
+     * Creates a controller backed by the given services.
      *
-     * @param productService service used to handle product operations
+     * @param productService   service used to handle product operations
+     * @param importService    service used for bulk imports
+     * @param flashSaleService service used to start and end flash sales
+     * @param jsonMapper       mapper used to write streamed import reports
      */
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService importService,
+            FlashSaleService flashSaleService, JsonMapper jsonMapper) {
         this.productService = productService;
+        this.importService = importService;
+        this.flashSaleService = flashSaleService;
+        this.jsonMapper = jsonMapper;
     }
 
     /**
-     * Returns all products.
+     * Returns one page of products ordered by id.
      *
-     * @return the list of products
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of products, with the next-page token in the
+     *         {@code X-Next-Cursor} header
      */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTOResponse>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ProductDTOResponse> products = productService.getProducts(cursor, limit);
+        return CursorResponses.ok(products);
+    }
+
+    /**
+     * Returns the best-selling products, overall or within one category.
+     *
+     * @param category category to rank; all products when omitted
+     * @param k        number of products wanted
+     * @return the best sellers, most units sold first
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<BestSellerDTOResponse>> getBestSellers(
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(productService.getBestSellers(category, k));
     }
 
     /**
@@ -60,8 +107,8 @@ public class ProductController {
      * @return the product with the given id
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
+    public ResponseEntity<ProductDTOResponse> getProductById(@PathVariable Long id) {
+        ProductDTOResponse product = productService.getProductById(id);
         return ResponseEntity.ok(product);
     }
 
@@ -77,6 +124,31 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    /**
+     * Imports a product catalog sent as newline-delimited JSON (one
+     * {@link CreateProductDTORequest} per line) or as CSV with a header line.
+     * The upload is read and imported in batches while the response streams
+     * one result per record back as newline-delimited JSON.
+     *
+     * @param request request whose body holds the catalog
+     * @return the streamed per-record results, in input order
+     * @throws IOException              if the upload cannot be read
+     * @throws IllegalArgumentException if the CSV header is invalid
+     */
+    @PostMapping(value = "/import", consumes = { NDJSON, CSV }, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> importProducts(HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV));
+        ProductRowReader reader = importService.openReader(request.getInputStream(), csv);
+        StreamingResponseBody body = out -> importService.importProducts(reader, results -> {
+            for (ImportResult result : results) {
+                out.write(jsonMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush();
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     /**
      * Updates an existing product using the provided details.
      *
@@ -93,18 +165,112 @@ public class ProductController {
         return ResponseEntity.ok(updatedProduct);
     }
 
+    /**
+     * Changes the fields sent in the payload and keeps the others. A
+     * {@code null} or missing sale price keeps the current one; send
+     * {@code "clearSalePrice": true} to end a sale.
+     *
+     * @param id    product identifier to update
+     * @param patch fields to change, with the expected version if any
+     * @return the updated product
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ProductDTOResponse> patchProduct(
+            @PathVariable Long id,
+            @RequestBody UpdateProductDTORequest patch) {
+        return ResponseEntity.ok(productService.patchProduct(id, patch));
+    }
+
     /**
      * Deletes a product by its identifier.
      *
-     * @param id product identifier
+     * @param id      product identifier
+     * @param version expected version, if the delete should be checked
      * @return an empty response with {@code 204 No Content}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        productService.deleteProduct(id);
+    public ResponseEntity<Void> deleteProduct(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version) {
+        productService.deleteProduct(id, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Puts a product on flash sale: until the sale ends, its stock is served
+     * from sharded in-memory counters instead of the product row.
+     *
+     * @param id     product identifier
+     * @param shards number of counters the stock is split over
+     * @return the started flash sale
+     */
+    @PutMapping("/{id}/flash-sale")
+    public ResponseEntity<FlashSaleDTOResponse> startFlashSale(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "16") int shards) {
+        return ResponseEntity.ok(flashSaleService.startFlashSale(id, shards));
+    }
+
+    /**
+     * Returns the flash sale of a product with its live stock.
+     *
+     * @param id product identifier
+     * @return the running flash sale
+     */
+    @GetMapping("/{id}/flash-sale")
+    public ResponseEntity<FlashSaleDTOResponse> getFlashSale(@PathVariable Long id) {
+        return ResponseEntity.ok(flashSaleService.getFlashSale(id));
+    }
+
+    /**
+     * Ends the flash sale of a product, writing its live stock back to the
+     * product row.
+     *
+     * @param id product identifier
+     * @return an empty response with {@code 204 No Content}
+     */
+    @DeleteMapping("/{id}/flash-sale")
+    public ResponseEntity<Void> endFlashSale(@PathVariable Long id) {
+        flashSaleService.endFlashSale(id);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Returns the first products matching the given query and filters,
+     * together with counts per category, price bucket and sale status.
+     *
+     * @param query    free-text query; the whole catalog when omitted
+     * @param category category to filter by
+     * @param bucket   price bucket number to filter by
+     * @param onSale   whether to keep only products on sale, or only products
+     *                 not on sale
+     * @param limit    number of products wanted
+     * @return matching products and facet counts
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTOResponse> getFacets(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Integer bucket,
+            @RequestParam(required = false) Boolean onSale,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.getFacets(query, category, bucket, onSale, limit));
+    }
+
+    /**
+     * Suggests products for a search box as the user types.
+     *
+     * @param prefix text typed so far
+     * @param limit  number of suggestions wanted
+     * @return matching products, best sellers first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductDTOResponse>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+    }
+
     /**
      * Searches for products by name or description.
      *
@@ -118,40 +284,77 @@ public class ProductController {
     }
 
     /**
-     * Returns all products that match the given category.
+     * Returns one page of products that match the given category, ordered by
+     * id or, with {@code sort=price}, cheapest effective price first.
      *
      * @param category product category to filter by
-     * @return the list of products in the requested category
+     * @param sort     {@code id} (default) or {@code price}
+     * @param cursor   next-page token from a previous response, if any
+     * @param limit    requested page size
+     * @return the page of products in the requested category
+     * @throws IllegalArgumentException if {@code sort} is not supported
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductByCategory(@PathVariable Category category) {
-        List<Product> products = productService.getByCategory(category);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTOResponse>> getProductByCategory(
+            @PathVariable Category category,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ProductDTOResponse> products = switch (sort) {
+            case "id" -> productService.getByCategory(category, cursor, limit);
+            case "price" -> productService.getByCategoryAndPriceBetween(category, null, null, cursor, limit);
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort);
+        };
+        return CursorResponses.ok(products);
     }
 
     /**
-     * Returns products whose price falls within the given range.
+     * Returns one page of products whose effective price (the sale price when
+     * there is one) falls within the given range, cheapest first, optionally
+     * within one category.
      *
-     * @param min minimum price (inclusive)
-     * @param max maximum price (inclusive)
-     * @return the list of products within the price range
+     * @param min      minimum price (inclusive)
+     * @param max      maximum price (inclusive)
+     * @param category category to restrict to
+     * @param cursor   next-page token from a previous response, if any
+     * @param limit    requested page size
+     * @return the page of products within the price range
      */
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> getProductsByPriceRange(
+    public ResponseEntity<List<ProductDTOResponse>> getProductsByPriceRange(
             @RequestParam BigDecimal min,
-            @RequestParam BigDecimal max) {
-        List<Product> products = productService.getByPriceBetween(min, max);
-        return ResponseEntity.ok(products);
+            @RequestParam BigDecimal max,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ProductDTOResponse> products = productService.getByCategoryAndPriceBetween(
+                category, min, max, cursor, limit);
+        return CursorResponses.ok(products);
     }
 
     /**
-     * Returns products that have a non-null sale price.
+     * Returns one page of products that have a sale price, cheapest first or,
+     * with {@code sort=discount}, largest discount first, optionally within
+     * one category.
      *
-     * @return the list of products currently on sale
+     * @param category category to restrict to
+     * @param sort     {@code price} (default) or {@code discount}
+     * @param cursor   next-page token from a previous response, if any
+     * @param limit    requested page size
+     * @return the page of products currently on sale
+     * @throws IllegalArgumentException if {@code sort} is not supported
      */
     @GetMapping("/sale-offers")
-    public ResponseEntity<List<Product>> getProductsOnSale() {
-        List<Product> productsOnSale = productService.getBySalePriceIsNotNull();
-        return ResponseEntity.ok(productsOnSale);
+    public ResponseEntity<List<ProductDTOResponse>> getProductsOnSale(
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ProductDTOResponse> productsOnSale = switch (sort) {
+            case "price" -> productService.getOnSale(category, cursor, limit);
+            case "discount" -> productService.getBestDiscounts(category, cursor, limit);
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort);
+        };
+        return CursorResponses.ok(productsOnSale);
     }
 }
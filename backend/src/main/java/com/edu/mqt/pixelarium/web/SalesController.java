@@ -0,0 +1,82 @@
+package com.edu.mqt.pixelarium.web;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.edu.mqt.pixelarium.model.dto.response.SalesReportDTOResponse;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.model.vo.Status;
+import com.edu.mqt.pixelarium.service.SalesService;
+
+/**
+ * Exposes sales report endpoints under {@code /api/sales}.
+ */
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+
+    private final SalesService salesService;
+
+    /**
+     * Creates a controller backed by the given sales service.
+     *
+     * @param salesService service used to build sales reports
+     */
+    public SalesController(SalesService salesService) {
+        this.salesService = salesService;
+    }
+
+    /**
+     * Returns order count, units and revenue per day in {@code [from, to)},
+     * optionally for one category or one status.
+     *
+     * @param from       first day (inclusive), ISO-8601 date
+     * @param to         last day (exclusive), ISO-8601 date
+     * @param category   category to restrict to
+     * @param statusType status to restrict to
+     * @return one row per day that had orders
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<List<SalesReportDTOResponse>> getDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Category category,
+            @RequestParam(name = "status", required = false) Status.StatusType statusType) {
+        return ResponseEntity.ok(salesService.getDailySales(from, to, category, statusType));
+    }
+
+    /**
+     * Returns order count, units and revenue per category in {@code [from, to)}.
+     *
+     * @param from first day (inclusive), ISO-8601 date
+     * @param to   last day (exclusive), ISO-8601 date
+     * @return one row per category that had sales
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<SalesReportDTOResponse>> getSalesByCategory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesService.getSalesByCategory(from, to));
+    }
+
+    /**
+     * Returns order count, units and revenue per order status in {@code [from, to)}.
+     *
+     * @param from first day (inclusive), ISO-8601 date
+     * @param to   last day (exclusive), ISO-8601 date
+     * @return one row per status that had orders
+     */
+    @GetMapping("/statuses")
+    public ResponseEntity<List<SalesReportDTOResponse>> getSalesByStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesService.getSalesByStatus(from, to));
+    }
+}
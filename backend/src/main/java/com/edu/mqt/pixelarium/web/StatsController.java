@@ -0,0 +1,119 @@
+package com.edu.mqt.pixelarium.web;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.edu.mqt.pixelarium.cache.CacheStats;
+import com.edu.mqt.pixelarium.cache.IdempotencyStore;
+import com.edu.mqt.pixelarium.cache.ProductCatalogCache;
+import com.edu.mqt.pixelarium.cache.SecondLevelCache;
+import com.edu.mqt.pixelarium.cache.SignupFilter;
+import com.edu.mqt.pixelarium.cache.SignupFilterStats;
+import com.edu.mqt.pixelarium.cache.UserLookupCache;
+import com.edu.mqt.pixelarium.security.PasswordHasher;
+import com.edu.mqt.pixelarium.security.PasswordHashingStats;
+
+/**
+ * Exposes runtime statistics of in-memory components under {@code /api/stats}.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final ProductCatalogCache productCache;
+    private final IdempotencyStore idempotencyStore;
+    private final SecondLevelCache secondLevelCache;
+    private final SignupFilter signupFilter;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Creates a controller backed by the given components.
+     *
+     * @param productCache     product catalog cache
+     * @param idempotencyStore store of idempotent request results
+     * @param secondLevelCache Hibernate second-level cache
+     * @param signupFilter     filter over registered emails and user names
+     * @param userLookupCache  cache of user ids by email and user name
+     * @param passwordHasher   password hashing pool
+     */
+    public StatsController(ProductCatalogCache productCache, IdempotencyStore idempotencyStore,
+            SecondLevelCache secondLevelCache, SignupFilter signupFilter, UserLookupCache userLookupCache,
+            PasswordHasher passwordHasher) {
+        this.productCache = productCache;
+        this.idempotencyStore = idempotencyStore;
+        this.secondLevelCache = secondLevelCache;
+        this.signupFilter = signupFilter;
+        this.userLookupCache = userLookupCache;
+        this.passwordHasher = passwordHasher;
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the product catalog cache.
+     *
+     * @return product cache statistics
+     */
+    @GetMapping("/product-cache")
+    public ResponseEntity<CacheStats> getProductCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
+    }
+
+    /**
+     * Returns replay, execution and eviction counters of the idempotency store.
+     * Hits are replayed retries, misses are first executions.
+     *
+     * @return idempotency store statistics
+     */
+    @GetMapping("/idempotency")
+    public ResponseEntity<CacheStats> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyStore.stats());
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the Hibernate second-level
+     * cache regions.
+     *
+     * @return statistics keyed by region name
+     */
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<Map<String, CacheStats>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCache.stats());
+    }
+
+    /**
+     * Returns the size, estimated and observed false-positive rates and
+     * usage counters of the signup filter.
+     *
+     * @return signup filter statistics
+     */
+    @GetMapping("/signup-filter")
+    public ResponseEntity<SignupFilterStats> getSignupFilterStats() {
+        return ResponseEntity.ok(signupFilter.stats());
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the cache of user ids by
+     * email and user name.
+     *
+     * @return user lookup cache statistics
+     */
+    @GetMapping("/user-lookup-cache")
+    public ResponseEntity<CacheStats> getUserLookupCacheStats() {
+        return ResponseEntity.ok(userLookupCache.stats());
+    }
+
+    /**
+     * Returns the cost, queue depth and counters of the password hashing
+     * pool, including the calls it turned away.
+     *
+     * @return password hashing statistics
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHasher.stats());
+    }
+}
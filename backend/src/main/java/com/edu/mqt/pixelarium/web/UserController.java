@@ -1,26 +1,39 @@
 package com.edu.mqt.pixelarium.web;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.edu.mqt.pixelarium.analytics.RegistrationBucket;
+import com.edu.mqt.pixelarium.analytics.RegistrationHistogram;
 import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
 import com.edu.mqt.pixelarium.model.dto.request.LoginDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
 import com.edu.mqt.pixelarium.model.dto.response.UserDTOResponse;
 import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.model.enumerated.TimeGranularity;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.security.SessionToken;
+import com.edu.mqt.pixelarium.security.SessionTokens;
 import com.edu.mqt.pixelarium.service.UserService;
 
 import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Exposes user-related endpoints under {@code /api/users}.
@@ -30,25 +43,89 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class UserController {
 
     private final UserService userService;
+    private final SessionTokens sessionTokens;
+    private final RegistrationHistogram registrationHistogram;
 
     /**
-     * Creates a controller backed by the given user service.
+     * Creates a controller backed by the given dependencies.
      *
-     * @param userService service used to handle user operations
+     * @param userService           service used to handle user operations
+     * @param sessionTokens         issuer of the session tokens returned at login
+     * @param registrationHistogram in-memory counts of users per registration day
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SessionTokens sessionTokens,
+            RegistrationHistogram registrationHistogram) {
         this.userService = userService;
+        this.sessionTokens = sessionTokens;
+        this.registrationHistogram = registrationHistogram;
     }
 
     /**
-     * Returns all registered users.
+     * Returns one page of registered users ordered by id.
      *
-     * @return the list of users
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of users, with the next-page token in the
+     *         {@code X-Next-Cursor} header
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDTOResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<UserDTOResponse> users = userService.getUsers(cursor, limit);
+        return CursorResponses.ok(users);
+    }
+
+    /**
+     * Returns one page of the users registered in {@code [from, to)}, ordered
+     * by registration day and id.
+     *
+     * @param from   first registration day (inclusive), ISO-8601 date
+     * @param to     last registration day (exclusive), ISO-8601 date
+     * @param cursor next-page token from a previous response, if any
+     * @param limit  requested page size
+     * @return the page of users, with the next-page token in the
+     *         {@code X-Next-Cursor} header
+     */
+    @GetMapping("/registered")
+    public ResponseEntity<List<UserDTOResponse>> getUsersRegisteredBetween(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<UserDTOResponse> users = userService.getUsersRegisteredBetween(from, to, cursor, limit);
+        return CursorResponses.ok(users);
+    }
+
+    /**
+     * Returns the number of users registered in {@code [from, to)}.
+     *
+     * @param from first registration day (inclusive), ISO-8601 date
+     * @param to   last registration day (exclusive), ISO-8601 date
+     * @return the number of users
+     */
+    @GetMapping("/registrations/count")
+    public ResponseEntity<Long> countRegistrations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(registrationHistogram.count(from, to));
+    }
+
+    /**
+     * Returns the number of users registered per day, week or month in
+     * {@code [from, to)}.
+     *
+     * @param from        first registration day (inclusive), ISO-8601 date
+     * @param to          last registration day (exclusive), ISO-8601 date
+     * @param granularity bucket width
+     * @return one bucket per day, week or month, empty ones included
+     */
+    @GetMapping("/registrations")
+    public ResponseEntity<List<RegistrationBucket>> getRegistrationHistogram(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") TimeGranularity granularity) {
+        return ResponseEntity.ok(registrationHistogram.histogram(from, to, granularity));
     }
 
     /**
@@ -91,28 +168,63 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Changes the fields sent in the payload and keeps the others.
+     *
+     * @param id    user identifier to update
+     * @param patch fields to change, with the expected version if any
+     * @return an empty response with {@code 204 No Content}
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateUserDTORequest patch) {
+        userService.patchUser(id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Deletes a user by its identifier.
      *
-     * @param id user identifier
+     * @param id      user identifier
+     * @param version expected version, if the delete should be checked
      * @return an empty response with {@code 204 No Content}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version) {
+        userService.deleteUser(id, version);
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Logs in a user.
+     * Logs in a user and issues a session token for it.
      *
      * @param loginDTO request payload with user credentials
-     * @return the logged in user
+     * @return the logged in user, with the session token in the
+     *         {@code X-Session-Token} header
      */
     @PostMapping("/login")
     public ResponseEntity<UserDTOResponse> login(@Valid @RequestBody LoginDTORequest loginDTO) {
         UserDTOResponse user = userService.login(loginDTO.email(), loginDTO.password());
-        return ResponseEntity.ok(user);
+        SessionToken token = sessionTokens.issue(user.id());
+        return ResponseEntity.ok()
+                .header(SessionTokens.TOKEN_HEADER, token.value())
+                .body(user);
+    }
+
+    /**
+     * Revokes the session token the request is sent with.
+     *
+     * @param authorization {@code Bearer} session token
+     * @return an empty response with {@code 204 No Content}
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+            String authorization) {
+        sessionTokens.revoke(sessionTokens.authenticate(authorization));
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -11,110 +11,111 @@ VALUES
   (8, 'switch_pro','nintendo_life', 'Luis', 'Martínez', 'luis@pixelarium.dev',    '2024-08-30');
 
 -- ===== PRODUCT =====
+-- category: stores the Category id (1 APPLE, 2 NINTENDO_SWITCH, 3 NINTENDO_SWITCH_2, 4 PC, 5 ACCESSORIES)
 
 INSERT INTO product (id, name, description, price, sale_price, image_path, stock, category)
 VALUES
   -- NINTENDO SWITCH
   (1, 'The Legend of Zelda: Tears of the Kingdom',
      'Juego de aventuras para Nintendo Switch.',
-     69.99, 59.99, '/products/zelda_totk.png', 50, 'NINTENDO_SWITCH'),
+     69.99, 59.99, '/products/zelda_totk.png', 50, 2),
 
   (2, 'Metroid Prime Remastered',
      'Aventura en primera persona para Nintendo Switch.',
-     39.99, NULL, '/products/metroid_prime_remastered.png', 30, 'NINTENDO_SWITCH'),
+     39.99, NULL, '/products/metroid_prime_remastered.png', 30, 2),
 
   (6, 'Super Mario Odyssey',
      'Juego de aventura y plataformas para Nintendo Switch.',
-     59.99, 49.99, '/products/mario_odyssey.png', 45, 'NINTENDO_SWITCH'),
+     59.99, 49.99, '/products/mario_odyssey.png', 45, 2),
 
   (7, 'Animal Crossing: New Horizons',
      'Juego de simulación de vida para Nintendo Switch.',
-     59.99, NULL, '/products/animal_crossing.png', 60, 'NINTENDO_SWITCH'),
+     59.99, NULL, '/products/animal_crossing.png', 60, 2),
 
   (8, 'Splatoon 3',
      'Shooter en tercera persona para Nintendo Switch.',
-     59.99, 54.99, '/products/splatoon3.png', 35, 'NINTENDO_SWITCH'),
+     59.99, 54.99, '/products/splatoon3.png', 35, 2),
 
   (9, 'Pokémon Escarlata',
      'Aventura RPG para Nintendo Switch.',
-     59.99, NULL, '/products/pokemon_scarlet.png', 40, 'NINTENDO_SWITCH'),
+     59.99, NULL, '/products/pokemon_scarlet.png', 40, 2),
 
   -- NINTENDO SWITCH 2
   (10, 'Mario Kart World',
       'Juego de carreras para Nintendo Switch 2.',
-      69.99, NULL, '/products/mario_kart_world.png', 100, 'NINTENDO_SWITCH_2'),
+      69.99, NULL, '/products/mario_kart_world.png', 100, 3),
 
   (11, 'Metroid Prime 4 Nintendo Switch 2 Edition',
       'Aventura en primera persona para Nintendo Switch 2.',
-      69.99, 64.99, '/products/metroid_prime_4.png', 80, 'NINTENDO_SWITCH_2'),
+      69.99, 64.99, '/products/metroid_prime_4.png', 80, 3),
 
   -- ACCESSORIES
   (3, 'Mando Pro de Nintendo Switch',
      'Mando inalámbrico para Nintendo Switch.',
-     69.99, 54.99, '/products/pro_controller.png', 40, 'ACCESSORIES'),
+     69.99, 54.99, '/products/pro_controller.png', 40, 5),
 
   (12, 'Funda protectora para Nintendo Switch',
       'Funda protectora para Nintendo Switch.',
-      24.99, 19.99, '/products/switch_case.png', 75, 'ACCESSORIES'),
+      24.99, 19.99, '/products/switch_case.png', 75, 5),
 
   (13, 'Cable de carga USB-C 3m',
       'Cable USB-C largo para dispositivos de juego.',
-      14.99, NULL, '/products/usbc_cable.png', 120, 'ACCESSORIES'),
+      14.99, NULL, '/products/usbc_cable.png', 120, 5),
 
   (14, 'Auriculares gaming RGB',
       'Auriculares gaming con sonido envolvente e iluminación RGB.',
-      89.99, 74.99, '/products/gaming_headset.png', 55, 'ACCESSORIES'),
+      89.99, 74.99, '/products/gaming_headset.png', 55, 5),
 
   -- APPLE
   (4, 'Apple AirPods Pro (2nd gen)',
      'Auriculares inalámbricos con cancelación de ruido.',
-     279.00, 249.00, '/products/airpods_pro_2.png', 25, 'APPLE'),
+     279.00, 249.00, '/products/airpods_pro_2.png', 25, 1),
 
   (15, 'Apple Magic Keyboard',
       'Teclado inalámbrico para Mac e iPad.',
-      129.00, NULL, '/products/magic_keyboard.png', 30, 'APPLE'),
+      129.00, NULL, '/products/magic_keyboard.png', 30, 1),
 
   (16, 'Apple Magic Mouse',
       'Ratón inalámbrico recargable.',
-      89.00, 79.00, '/products/magic_mouse.png', 40, 'APPLE'),
+      89.00, 79.00, '/products/magic_mouse.png', 40, 1),
 
   (17, 'Apple AirTag 4 Pack',
       'Rastreador de objetos para encontrar tus pertenencias.',
-      99.00, NULL, '/products/airtag_4pack.png', 50, 'APPLE'),
+      99.00, NULL, '/products/airtag_4pack.png', 50, 1),
 
   -- PC
   (5, 'RTX 3060 12GB',
      'Tarjeta gráfica NVIDIA RTX 3060 de 12GB.',
-     349.00, 329.00, '/products/rtx3060_12gb.png', 15, 'PC'),
+     349.00, 329.00, '/products/rtx3060_12gb.png', 15, 4),
 
   (18, 'RTX 4070 Ti',
       'Tarjeta gráfica NVIDIA RTX 4070 Ti.',
-      799.00, NULL, '/products/rtx4070ti.png', 10, 'PC'),
+      799.00, NULL, '/products/rtx4070ti.png', 10, 4),
 
   (19, 'AMD Ryzen 7 7800X3D',
       'Procesador para juegos de alto rendimiento.',
-      449.00, 429.00, '/products/ryzen_7800x3d.png', 20, 'PC'),
+      449.00, 429.00, '/products/ryzen_7800x3d.png', 20, 4),
 
   (20, 'Corsair Vengeance DDR5 32GB',
       'Kit de memoria RAM DDR5 de 32GB para PCs gaming.',
-      149.00, 139.00, '/products/corsair_ddr5.png', 35, 'PC');
+      149.00, 139.00, '/products/corsair_ddr5.png', 35, 4);
 
 -- ===== ORDERS =====
 -- order_date: format 'YYYY-MM-DDTHH:MM:SS' for LocalDateTime
--- status: stores the internal enum name StatusType (DRAFT, PENDING, SENT, DELIVERED)
+-- status: stores the StatusType id (1 DRAFT, 2 PENDING, 3 SENT, 4 DELIVERED)
 
 INSERT INTO orders (id, user_id, order_date, total_price, status)
 VALUES
-  (1, 1, '2024-04-01T10:30:00', 119.98, 'PENDING'),   -- mqt buys 2 games
-  (2, 1, '2024-05-05T18:45:00', 249.00, 'SENT'),      -- mqt buys AirPods
-  (3, 2, '2024-06-10T16:20:00', 124.98, 'DELIVERED'), -- zelda_fan buys game + controller
-  (4, 4, '2024-07-15T14:20:00', 49.99,  'DELIVERED'), -- mario_bro buys Mario Odyssey
-  (5, 5, '2024-08-20T09:15:00', 897.00, 'SENT'),      -- pc_gamer buys PC components
-  (6, 6, '2024-09-05T11:45:00', 328.00, 'PENDING'),   -- apple_fan buys Apple accessories
-  (7, 7, '2024-09-18T16:30:00', 94.98,  'DELIVERED'), -- retro_fan buys accessories
-  (8, 8, '2024-10-01T13:00:00', 189.97, 'PENDING'),   -- switch_pro buys Switch games
-  (9, 3, '2024-10-10T10:10:00', 64.99,  'SENT'),      -- samus buys Metroid Prime 4
-  (10, 1, '2024-10-25T17:30:00', 139.98, 'DRAFT');    -- mqt draft order
+  (1, 1, '2024-04-01T10:30:00', 119.98, 2), -- mqt buys 2 games
+  (2, 1, '2024-05-05T18:45:00', 249.00, 3), -- mqt buys AirPods
+  (3, 2, '2024-06-10T16:20:00', 124.98, 4), -- zelda_fan buys game + controller
+  (4, 4, '2024-07-15T14:20:00', 49.99,  4), -- mario_bro buys Mario Odyssey
+  (5, 5, '2024-08-20T09:15:00', 897.00, 3), -- pc_gamer buys PC components
+  (6, 6, '2024-09-05T11:45:00', 328.00, 2), -- apple_fan buys Apple accessories
+  (7, 7, '2024-09-18T16:30:00', 94.98,  4), -- retro_fan buys accessories
+  (8, 8, '2024-10-01T13:00:00', 189.97, 2), -- switch_pro buys Switch games
+  (9, 3, '2024-10-10T10:10:00', 64.99,  3), -- samus buys Metroid Prime 4
+  (10, 1, '2024-10-25T17:30:00', 139.98, 1); -- mqt draft order
 
 -- ===== ORDER_ITEMS =====
 -- unit_price: snapshot of the price at the time of the order
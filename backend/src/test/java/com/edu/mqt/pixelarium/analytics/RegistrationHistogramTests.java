@@ -0,0 +1,151 @@
+package com.edu.mqt.pixelarium.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.UserDTOResponse;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.model.enumerated.TimeGranularity;
+import com.edu.mqt.pixelarium.pagination.Cursor;
+import com.edu.mqt.pixelarium.pagination.CursorPage;
+import com.edu.mqt.pixelarium.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that registration counts follow user creates and deletes without
+ * running a statement, and that registered users are listed page by page.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RegistrationHistogramTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RegistrationHistogram histogram;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Compares range sums of a tree grown on both sides with sums over the
+     * plain counters.
+     */
+    @Test
+    void rangeSumsMatchPlainCounters() {
+        Random random = new Random(42);
+        long[] plain = new long[300];
+        FenwickTree tree = new FenwickTree(100);
+        for (int i = 0; i < 100; i++) {
+            long delta = random.nextInt(10);
+            plain[100 + i] += delta;
+            tree.add(i, delta);
+        }
+        tree.resize(100, 300);
+        for (int i = 0; i < 1_000; i++) {
+            int index = random.nextInt(300);
+            long delta = random.nextInt(7) - 3;
+            plain[index] += delta;
+            tree.add(index, delta);
+        }
+
+        assertArrayEquals(plain, tree.counts());
+        for (int i = 0; i < 1_000; i++) {
+            int from = random.nextInt(320) - 10;
+            int to = random.nextInt(320) - 10;
+            long expected = 0;
+            for (int j = Math.max(from, 0); j < Math.min(to, 300); j++) {
+                expected += plain[j];
+            }
+            assertEquals(expected, tree.rangeSum(from, to));
+        }
+    }
+
+    /**
+     * Creates and deletes users and checks that day, week and month counts
+     * follow without a statement.
+     */
+    @Test
+    void countsFollowCreatesAndDeletes() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(60);
+        LocalDate to = today.plusDays(1);
+        long before = histogram.count(from, to);
+        long total = histogram.count(null, null);
+
+        User first = createUser("cohort" + System.nanoTime());
+        createUser("cohort" + System.nanoTime());
+        userService.deleteUser(first.getId(), null);
+
+        statistics.clear();
+        assertEquals(before + 1, histogram.count(from, to));
+        assertEquals(total + 1, histogram.count(null, null));
+        for (TimeGranularity granularity : TimeGranularity.values()) {
+            List<RegistrationBucket> buckets = histogram.histogram(from, to, granularity);
+            assertEquals(from, buckets.get(0).from());
+            assertEquals(to, buckets.get(buckets.size() - 1).to());
+            assertEquals(before + 1, buckets.stream().mapToLong(RegistrationBucket::users).sum());
+        }
+        assertEquals(61, histogram.histogram(from, to, TimeGranularity.DAY).size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.histogram(to, from, TimeGranularity.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> histogram.histogram(today.minusYears(10), today, TimeGranularity.DAY));
+    }
+
+    /**
+     * Pages through the users registered today and checks that the pages are
+     * full, in order and hold the users just created, and that a tampered
+     * cursor is rejected.
+     */
+    @Test
+    void registeredUsersArePaginated() {
+        LocalDate today = LocalDate.now();
+        List<Long> created = List.of(createUser("paged" + System.nanoTime()).getId(),
+                createUser("paged" + System.nanoTime()).getId(), createUser("paged" + System.nanoTime()).getId());
+
+        List<UserDTOResponse> users = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserDTOResponse> page = userService.getUsersRegisteredBetween(today, today.plusDays(1),
+                    cursor, 2);
+            assertEquals(page.nextCursor() == null ? page.items().size() : 2, page.items().size());
+            users.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<Long> ids = users.stream().map(UserDTOResponse::id).toList();
+        assertTrue(ids.containsAll(created));
+        for (int i = 1; i < users.size(); i++) {
+            assertEquals(-1, Long.signum(users.get(i - 1).id() - users.get(i).id()));
+        }
+        assertNull(userService.getUsersRegisteredBetween(today, today.plusDays(1), null, users.size())
+                .nextCursor());
+        String tampered = new Cursor("not-a-day", 1).encode();
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersRegisteredBetween(today, today.plusDays(1), tampered, 2));
+    }
+
+    private User createUser(String name) {
+        return userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123", "Cohort",
+                "Tester", name, null));
+    }
+}
@@ -0,0 +1,85 @@
+package com.edu.mqt.pixelarium.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.edu.mqt.pixelarium.exception.ServiceBusyException;
+
+/**
+ * Verifies that running requests are never evicted and that a request that
+ * never finishes does not hold back the expiry of later ones.
+ */
+class IdempotencyStoreTests {
+
+    /**
+     * Fills the store with a running request and checks that a new key is
+     * refused until it finishes, and that a retry of the running key is not
+     * executed again.
+     */
+    @Test
+    void runningRequestsAreNotEvicted() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(1, Duration.ofHours(1), Duration.ofSeconds(5));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> store.execute("a", "payload", () -> {
+            started.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(ServiceBusyException.class, () -> store.execute("b", "payload", runs::incrementAndGet));
+        CompletableFuture<Integer> retry = CompletableFuture.supplyAsync(
+                () -> store.execute("a", "payload", runs::incrementAndGet));
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+        assertEquals(2, store.execute("b", "payload", runs::incrementAndGet));
+        assertEquals(1, store.stats().size());
+    }
+
+    /**
+     * Leaves one request running past its time-to-live and checks that the
+     * completed requests behind it still expire.
+     */
+    @Test
+    void stuckRequestDoesNotBlockExpiry() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ZERO, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> stuck = CompletableFuture.supplyAsync(() -> store.execute("stuck", "payload", () -> {
+            started.countDown();
+            await(release);
+            return "done";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 5; i++) {
+            store.execute("key" + i, "payload", () -> "result");
+        }
+        assertEquals(2, store.stats().size());
+
+        release.countDown();
+        assertEquals("done", stuck.get(5, TimeUnit.SECONDS));
+        store.execute("last", "payload", () -> "result");
+        assertEquals(1, store.stats().size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
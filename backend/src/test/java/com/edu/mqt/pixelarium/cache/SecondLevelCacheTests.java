@@ -0,0 +1,176 @@
+package com.edu.mqt.pixelarium.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.OrderItemDTORequest;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.UserRepository;
+import com.edu.mqt.pixelarium.service.OrderService;
+import com.edu.mqt.pixelarium.service.ProductImportService;
+import com.edu.mqt.pixelarium.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that repeated reads are served from the second-level cache
+ * without SQL, and that writes Hibernate does not see never leave stale
+ * entries behind.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTests {
+
+    private static final long USER_ID = 1L;
+    private static final Limit PAGE = Limit.of(10_000);
+    private static final BigDecimal NO_DISCOUNT_BOUND = BigDecimal.valueOf(1000);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void emptyCache() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Loads the same user in two transactions and checks that only the first
+     * one reaches the database.
+     */
+    @Test
+    void repeatedEntityLoadRunsNoStatement() {
+        userRepo.findById(USER_ID).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        userRepo.findById(USER_ID).orElseThrow();
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    /**
+     * Runs the first page of the category query twice and checks that the second run
+     * takes both the result and its products from the cache.
+     */
+    @Test
+    void repeatedCategoryQueryRunsNoStatement() {
+        int size = categoryPage(Category.PC).size();
+
+        statistics.clear();
+        assertEquals(size, categoryPage(Category.PC).size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Runs the first page of the discount query twice and checks that the
+     * second run takes both the result and its products from the cache.
+     */
+    @Test
+    void repeatedDiscountQueryRunsNoStatement() {
+        Long onSale = createProduct(5, new BigDecimal("7.50"));
+        List<Product> page = discountPage();
+        assertTrue(page.stream().anyMatch(product -> product.getId().equals(onSale)));
+
+        statistics.clear();
+        assertEquals(page.size(), discountPage().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Checks out one product and checks that its new stock is read from the
+     * database while the other cached entries and query results survive the
+     * SQL stock update.
+     */
+    @Test
+    void stockUpdateLeavesNoStaleEntry() {
+        Long sold = createProduct(5);
+        Long untouched = createProduct(5);
+        categoryPage(Category.ACCESSORIES);
+        productRepo.findById(sold).orElseThrow();
+        productRepo.findById(untouched).orElseThrow();
+
+        orderService.createOrder(new CreateOrderDTORequest(USER_ID, List.of(new OrderItemDTORequest(sold, 2))));
+        assertEquals(3, productRepo.findById(sold).orElseThrow().getStock());
+
+        statistics.clear();
+        assertEquals(5, productRepo.findById(untouched).orElseThrow().getStock());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        categoryPage(Category.ACCESSORIES);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Imports a product with plain JDBC and checks that the cached category
+     * page is not served afterwards.
+     */
+    @Test
+    void importInvalidatesCachedQueries() throws Exception {
+        int size = categoryPage(Category.ACCESSORIES).size();
+
+        String record = "{\"name\":\"Cache test " + System.nanoTime() + "\",\"description\":\"Imported\","
+                + "\"price\":10.00,\"stock\":1,\"category\":\"ACCESSORIES\"}\n";
+        importService.importProducts(importService.openReader(
+                new ByteArrayInputStream(record.getBytes(StandardCharsets.UTF_8)), false), results -> { });
+
+        statistics.clear();
+        assertEquals(size + 1, categoryPage(Category.ACCESSORIES).size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+    }
+
+    private List<Product> categoryPage(Category category) {
+        return productRepo.findPageByCategory(category, 0, PAGE);
+    }
+
+    private List<Product> discountPage() {
+        return productRepo.findPageOnSaleByDiscount(NO_DISCOUNT_BOUND, 0, PAGE);
+    }
+
+    private Long createProduct(int stock) {
+        return createProduct(stock, null);
+    }
+
+    private Long createProduct(int stock, BigDecimal salePrice) {
+        Product product = productService.createProduct(new CreateProductDTORequest(
+                "Cache test " + System.nanoTime(), "Second-level cache test product",
+                new BigDecimal("10.00"), salePrice, null, stock, Category.ACCESSORIES));
+        return product.getId();
+    }
+}
@@ -0,0 +1,109 @@
+package com.edu.mqt.pixelarium.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.model.vo.Email;
+import com.edu.mqt.pixelarium.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that signups with unseen emails and user names skip the
+ * uniqueness queries while taken ones are still rejected.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SignupFilterTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SignupFilter signupFilter;
+
+    /**
+     * Registers a user with new keys and checks that the INSERT is the only
+     * statement.
+     */
+    @Test
+    void signupWithNewKeysRunsOnlyTheInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long definitelyFree = signupFilter.stats().definitelyFree();
+
+        statistics.clear();
+        createUser("fresh" + System.nanoTime());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(definitelyFree + 2, signupFilter.stats().definitelyFree());
+    }
+
+    /**
+     * Checks that a taken email or user name is rejected, whether it was
+     * loaded at startup, registered since or set by a patch or a PUT.
+     */
+    @Test
+    void takenKeysAreRejected() {
+        String name = "taken" + System.nanoTime();
+        User user = createUser(name);
+
+        assertThrows(IllegalArgumentException.class, () -> createUser(name));
+        assertThrows(IllegalArgumentException.class, () -> userService.createUser(new CreateUserDTORequest(
+                "other" + name + "@example.com", "password123", "Signup", "Tester", name, null)));
+        assertThrows(IllegalArgumentException.class, () -> userService.createUser(new CreateUserDTORequest(
+                "mateo@pixelarium.dev", "password123", "Signup", "Tester", "other" + name, null)));
+
+        String patched = "patched" + System.nanoTime();
+        userService.patchUser(user.getId(), new UpdateUserDTORequest(null, patched + "@example.com", null, null,
+                null, patched));
+        assertThrows(IllegalArgumentException.class, () -> createUser(patched));
+
+        String replaced = "replaced" + System.nanoTime();
+        User current = userService.getUserById(user.getId());
+        current.setEmail(new Email(replaced + "@example.com"));
+        current.setUserName(replaced);
+        userService.updateUser(current);
+        assertTrue(userService.existsByEmail(replaced + "@example.com"));
+        assertTrue(userService.existsByUserName(replaced));
+    }
+
+    /**
+     * Fills a filter to its expected size and checks that it finds every key
+     * added and that unseen keys pass at close to the target rate.
+     */
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("added" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("added" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unseen" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertTrue(filter.estimatedFalsePositiveRate() < 0.015);
+    }
+
+    private User createUser(String name) {
+        return userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123", "Signup",
+                "Tester", name, null));
+    }
+}
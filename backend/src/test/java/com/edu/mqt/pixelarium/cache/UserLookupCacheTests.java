@@ -0,0 +1,83 @@
+package com.edu.mqt.pixelarium.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that repeated logins and lookups by email or user name run no
+ * statement and that changed or deleted users stop resolving.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserLookupCacheTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Logs in and looks a user up once to fill the cache, then checks that
+     * doing it again runs no statement.
+     */
+    @Test
+    void repeatedLookupsRunNoStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User user = createUser("lookup" + System.nanoTime());
+        String email = user.getEmail().value();
+        userService.login(email, "password123");
+        userService.getUserByUserName(user.getUserName());
+
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(user.getId(), userService.login(email, "password123").id());
+            assertEquals(user.getId(), userService.getUserByEmail(email).getId());
+            assertEquals(user.getId(), userService.getUserByUserName(user.getUserName()).getId());
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Changes a cached user's email and user name, then deletes it, and
+     * checks that the old keys stop resolving and the new ones resolve.
+     */
+    @Test
+    void changedAndDeletedUsersStopResolving() {
+        User user = createUser("renamed" + System.nanoTime());
+        String oldEmail = user.getEmail().value();
+        userService.getUserByEmail(oldEmail);
+        userService.getUserByUserName(user.getUserName());
+
+        String name = "moved" + System.nanoTime();
+        userService.patchUser(user.getId(), new UpdateUserDTORequest(null, name + "@example.com", null, null, null,
+                name));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail(oldEmail));
+        assertNull(userService.getUserByUserName(user.getUserName()));
+        assertEquals(user.getId(), userService.getUserByEmail(name + "@example.com").getId());
+        assertEquals(user.getId(), userService.getUserByUserName(name).getId());
+
+        userService.deleteUser(user.getId(), null);
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail(name + "@example.com"));
+        assertNull(userService.getUserByUserName(name));
+    }
+
+    private User createUser(String name) {
+        return userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123", "Lookup",
+                "Tester", name, null));
+    }
+}
@@ -0,0 +1,147 @@
+package com.edu.mqt.pixelarium.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.model.vo.Status.StatusType;
+
+/**
+ * Compares table size and indexed scan time of the column layouts available
+ * for {@code product.category} and {@code orders.status}: enum names in a
+ * VARCHAR, the native ENUM type that {@code EnumType.STRING} maps to on
+ * MySQL and H2, and the one-byte ids written by the attribute converters.
+ * Each layout gets a table with the {@code (category, id)} and
+ * {@code (status, id)} indexes of the real tables.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class EnumStorageBenchmarkTests {
+
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fills one table per layout with the same rows, then reports the space
+     * used by each and the time of the count, keyset-page and group-by
+     * queries the repositories run on these columns.
+     */
+    @Test
+    void compareColumnLayouts() {
+        measure("varchar names", "VARCHAR(32)", "VARCHAR(32)", Enum::name, Enum::name);
+        measure("native enum", enumType(Category.values()), enumType(StatusType.values()), Enum::name, Enum::name);
+        measure("tinyint ids", "TINYINT", "TINYINT",
+                category -> (byte) category.getId(), status -> (byte) status.getId());
+    }
+
+    private void measure(String layout, String categoryType, String statusType,
+            Function<Category, Object> category, Function<StatusType, Object> status) {
+        String table = "bench_" + layout.replace(' ', '_');
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, category " + categoryType
+                + " NOT NULL, status " + statusType + " NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + table + "_category ON " + table + " (category, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + table + "_status ON " + table + " (status, id)");
+        try {
+            fill(table, category, status);
+            long bytes = spaceUsed(table);
+
+            Object categoryValue = category.apply(Category.PC);
+            Object statusValue = status.apply(StatusType.SENT);
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE category = ?", Long.class,
+                    categoryValue);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE category = ?", Long.class,
+                        categoryValue);
+            }
+            double countMillis = elapsedMillis(start) / ROUNDS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE status = ? AND id > ? ORDER BY id "
+                        + "LIMIT " + PAGE_SIZE, Long.class, statusValue, (long) i * ROWS / ROUNDS);
+            }
+            double pageMillis = elapsedMillis(start) / ROUNDS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS / 10; i++) {
+                jdbcTemplate.queryForList("SELECT category, COUNT(*) FROM " + table + " GROUP BY category");
+            }
+            double groupMillis = elapsedMillis(start) / (ROUNDS / 10);
+
+            System.out.printf("BENCHMARK %s: %d rows, %.1f MB, count by category %.2f ms, "
+                    + "keyset page by status %.3f ms, group by category %.1f ms%n",
+                    layout, ROWS, bytes / 1_048_576.0, countMillis, pageMillis, groupMillis);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+    }
+
+    private void fill(String table, Function<Category, Object> category, Function<StatusType, Object> status) {
+        Category[] categories = Category.values();
+        StatusType[] statuses = StatusType.values();
+        Random random = new Random(42);
+        for (int from = 0; from < ROWS; from += BATCH_SIZE) {
+            int first = from;
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, category, status) VALUES (?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            statement.setLong(1, first + i + 1L);
+                            statement.setObject(2, category.apply(categories[random.nextInt(categories.length)]));
+                            statement.setObject(3, status.apply(statuses[random.nextInt(statuses.length)]));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return BATCH_SIZE;
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Returns the bytes used by a table and its indexes, as reported by the
+     * database the tests run against.
+     */
+    private long spaceUsed(String table) {
+        String database = jdbcTemplate.execute(
+                (Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table);
+        }
+        jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        return jdbcTemplate.queryForObject("SELECT data_length + index_length FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = ?", Long.class, table);
+    }
+
+    private static String enumType(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", ", "ENUM(", ")"));
+    }
+
+    private static double elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+}
@@ -0,0 +1,148 @@
+package com.edu.mqt.pixelarium.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.edu.mqt.pixelarium.exception.ServiceBusyException;
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.repositories.UserRepository;
+import com.edu.mqt.pixelarium.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that passwords are stored as hashes, that logins upgrade old
+ * stored values and that a saturated hashing pool turns calls away.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PasswordHasherTests {
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Registers a user, replaces the stored hash by a plain-text password
+     * and checks that the next successful login stores a current hash.
+     */
+    @Test
+    void loginRehashesPlainTextPasswords() {
+        String name = "hasher" + System.nanoTime();
+        User user = userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123", "Hash",
+                "Tester", name, null));
+        String stored = userRepo.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(passwordHasher.isHash(stored));
+        assertFalse(passwordHasher.needsRehash(stored));
+
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", "legacy-password", user.getId());
+        entityManagerFactory.getCache().evict(User.class, user.getId());
+        assertThrows(IllegalArgumentException.class, () -> userService.login(name + "@example.com", "password123"));
+
+        userService.login(name + "@example.com", "legacy-password");
+        String rehashed = userRepo.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(passwordHasher.isHash(rehashed));
+        assertFalse(passwordHasher.needsRehash(rehashed));
+        assertEquals(name, userService.login(name + "@example.com", "legacy-password").userName());
+    }
+
+    /**
+     * Checks that hashes made at another cost, with or without a minor
+     * version, are reported for rehashing and still match until then.
+     */
+    @Test
+    void otherCostsNeedRehash() {
+        PasswordHasher cheap = new PasswordHasher(4, 1, 1, Duration.ofSeconds(5));
+        try {
+            String hash = cheap.hash("password123");
+            assertNotEquals(hash, cheap.hash("password123"));
+            assertFalse(cheap.needsRehash(hash));
+            assertTrue(passwordHasher.needsRehash(hash));
+            assertTrue(passwordHasher.matches("password123", hash));
+            assertFalse(passwordHasher.matches("password124", hash));
+
+            String unversioned = "$2$" + hash.substring(4);
+            assertFalse(cheap.needsRehash(unversioned));
+            assertTrue(passwordHasher.needsRehash(unversioned));
+        } finally {
+            cheap.destroy();
+        }
+    }
+
+    /**
+     * Fills a one-thread pool and its one-slot queue, then checks that the
+     * next call is refused at once and that a queued call gives up after the
+     * maximum wait.
+     */
+    @Test
+    void saturatedPoolShedsLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher hasher = new PasswordHasher(new BlockingEncoder(release), 10, 1, 1, Duration.ofMillis(200));
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.hash("first"));
+            while (hasher.stats().active() == 0) {
+                Thread.onSpinWait();
+            }
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.hash("second"));
+            while (hasher.stats().queued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(ServiceBusyException.class, () -> hasher.hash("third"));
+            assertEquals(1, hasher.stats().rejected());
+
+            assertTrue(queued.handle((hash, ex) -> ex.getCause() instanceof ServiceBusyException).get());
+            assertTrue(running.handle((hash, ex) -> ex.getCause() instanceof ServiceBusyException).get());
+            assertEquals(2, hasher.stats().timedOut());
+            assertEquals(0, hasher.stats().queued());
+        } finally {
+            release.countDown();
+            hasher.destroy();
+        }
+    }
+
+    /**
+     * Encoder that holds its thread until released.
+     */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
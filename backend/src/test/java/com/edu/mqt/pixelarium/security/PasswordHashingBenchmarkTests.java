@@ -0,0 +1,81 @@
+package com.edu.mqt.pixelarium.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures, for each BCrypt cost, how long one hash takes and how long
+ * logins wait for theirs when more of them arrive than the pool has
+ * threads, to pick the largest {@code pixelarium.password.bcrypt-cost}
+ * whose p99 fits the login latency budget. Excluded from the default build;
+ * run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmarkTests {
+
+    private static final int CALLERS_PER_THREAD = 4;
+    private static final int HASHES_PER_CALLER = 16;
+
+    /**
+     * Hashes with costs 8 to 13 on a pool with one thread per core, with four
+     * concurrent callers per thread, and reports throughput and the p50, p99
+     * and maximum wait of the callers.
+     */
+    @Test
+    void compareCosts() throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int cost = 8; cost <= 13; cost++) {
+            measure(cost, threads);
+        }
+    }
+
+    private void measure(int cost, int threads) throws Exception {
+        int callers = threads * CALLERS_PER_THREAD;
+        PasswordHasher hasher = new PasswordHasher(cost, threads, callers, Duration.ofMinutes(5));
+        ExecutorService clients = Executors.newFixedThreadPool(callers);
+        try {
+            hasher.hash("warm-up password");
+
+            long start = System.nanoTime();
+            Future<?>[] runs = new Future<?>[callers];
+            long[] latencies = new long[callers * HASHES_PER_CALLER];
+            for (int c = 0; c < callers; c++) {
+                int caller = c;
+                runs[c] = clients.submit(() -> {
+                    for (int i = 0; i < HASHES_PER_CALLER; i++) {
+                        long begin = System.nanoTime();
+                        hasher.hash("password-" + caller + "-" + i);
+                        latencies[caller * HASHES_PER_CALLER + i] = System.nanoTime() - begin;
+                    }
+                });
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            System.out.printf("BENCHMARK bcrypt cost %d: %.1f ms per hash, %.0f hashes/s on %d threads, "
+                    + "%d callers wait p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    cost, hasher.stats().averageHashMillis(), latencies.length / seconds, threads, callers,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000.0);
+        } finally {
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+            hasher.destroy();
+        }
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.edu.mqt.pixelarium.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.mqt.pixelarium.exception.ForbiddenException;
+import com.edu.mqt.pixelarium.exception.UnauthorizedException;
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that session tokens are checked without the database and that
+ * forged, expired and revoked tokens are rejected.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SessionTokensTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Authorizes a user's requests with its token and checks that no
+     * statement is run and that other users and missing tokens are refused.
+     */
+    @Test
+    void tokensAuthorizeWithoutQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SessionToken token = sessionTokens.issue(42L);
+
+        statistics.clear();
+        for (int i = 0; i < 1_000; i++) {
+            sessionTokens.authorize("Bearer " + token.value(), 42L);
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals(42L, sessionTokens.verify(token.value()).userId());
+        assertThrows(ForbiddenException.class, () -> sessionTokens.authorize("Bearer " + token.value(), 43L));
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.authorize(null, 42L));
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.authorize(token.value(), 42L));
+    }
+
+    /**
+     * Checks that altered tokens, tokens signed with another key and expired
+     * tokens are rejected.
+     */
+    @Test
+    void forgedAndExpiredTokensAreRejected() {
+        String token = sessionTokens.issue(42L).value();
+        int dot = token.indexOf('.');
+        String otherClaims = sessionTokens.issue(43L).value();
+        String swapped = otherClaims.substring(0, otherClaims.indexOf('.')) + token.substring(dot);
+        String altered = token.substring(0, dot + 1) + (token.charAt(dot + 1) == 'A' ? 'B' : 'A')
+                + token.substring(dot + 2);
+
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(swapped));
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(altered));
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify("not-a-token"));
+        assertThrows(UnauthorizedException.class,
+                () -> sessionTokens.verify(new SessionTokens("", Duration.ofHours(1)).issue(42L).value()));
+        assertThrows(UnauthorizedException.class,
+                () -> sessionTokens.verify(new SessionTokens("", Duration.ZERO).issue(42L).value()));
+    }
+
+    /**
+     * Revokes a single token on logout, then every token of the user on a
+     * password change by patch or PUT and on delete, and checks that later
+     * logins still get valid tokens and that a PUT keeping the password
+     * revokes nothing.
+     */
+    @Test
+    void revokedTokensAreRejected() {
+        String name = "session" + System.nanoTime();
+        User user = userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123",
+                "Session", "Tester", name, null));
+        SessionToken first = sessionTokens.issue(user.getId());
+        SessionToken second = sessionTokens.issue(user.getId());
+
+        sessionTokens.revoke(first);
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(first.value()));
+        sessionTokens.verify(second.value());
+
+        userService.patchUser(user.getId(), new UpdateUserDTORequest(null, null, "password456", null, null, null));
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(second.value()));
+        SessionToken third = sessionTokens.issue(user.getId());
+        sessionTokens.verify(third.value());
+
+        User current = userService.getUserById(user.getId());
+        current.setPassword("password789");
+        userService.updateUser(current);
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(third.value()));
+        SessionToken fourth = sessionTokens.issue(user.getId());
+        userService.updateUser(userService.getUserById(user.getId()));
+        sessionTokens.verify(fourth.value());
+
+        userService.deleteUser(user.getId(), null);
+        assertThrows(UnauthorizedException.class, () -> sessionTokens.verify(fourth.value()));
+    }
+}
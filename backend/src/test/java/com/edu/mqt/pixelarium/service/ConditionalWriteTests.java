@@ -0,0 +1,175 @@
+package com.edu.mqt.pixelarium.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.edu.mqt.pixelarium.exception.ResourceNotFoundException;
+import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.CreateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.OrderItemDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.UpdateUserDTORequest;
+import com.edu.mqt.pixelarium.model.dto.response.ProductDTOResponse;
+import com.edu.mqt.pixelarium.model.entities.Order;
+import com.edu.mqt.pixelarium.model.entities.User;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.OrderRepository;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+import com.edu.mqt.pixelarium.repositories.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that the patch and delete paths write with one conditional
+ * statement and report missing rows and stale versions.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ConditionalWriteTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Patches a user at its current version with one statement, then checks
+     * that the old version is rejected and that a missing user is reported.
+     */
+    @Test
+    void userPatchTakesOneStatementAndChecksVersion() {
+        User user = createUser();
+
+        statistics.clear();
+        userService.patchUser(user.getId(), new UpdateUserDTORequest(user.getVersion(), null, null, "Renamed",
+                null, null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        User patched = userRepo.findById(user.getId()).orElseThrow();
+        assertEquals("Renamed", patched.getRealName());
+        assertEquals(user.getSurname(), patched.getSurname());
+        assertEquals(user.getVersion() + 1, patched.getVersion());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> userService.patchUser(user.getId(),
+                new UpdateUserDTORequest(user.getVersion(), null, null, "Stale", null, null)));
+        assertThrows(ResourceNotFoundException.class, () -> userService.patchUser(Long.MAX_VALUE,
+                new UpdateUserDTORequest(null, null, null, "Nobody", null, null)));
+        assertEquals("Renamed", userRepo.findById(user.getId()).orElseThrow().getRealName());
+    }
+
+    /**
+     * Deletes a user with orders in one statement and checks that the
+     * database removed the orders with it.
+     */
+    @Test
+    void userDeleteTakesOneStatementAndRemovesOrders() {
+        User user = createUser();
+        Long productId = createProduct(5, "10.00");
+        Order order = orderService.createOrder(new CreateOrderDTORequest(user.getId(),
+                List.of(new OrderItemDTORequest(productId, 1))));
+
+        statistics.clear();
+        userService.deleteUser(user.getId(), null);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertFalse(userRepo.existsById(user.getId()));
+        assertFalse(orderRepo.existsById(order.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(user.getId(), null));
+    }
+
+    /**
+     * Patches a product's price and category, then checks that a patch
+     * leaving the sale price at or above the price changes nothing and that
+     * a patch can end the sale.
+     */
+    @Test
+    void productPatchKeepsSalePriceBelowPrice() {
+        Long productId = createProduct(5, "10.00");
+        long version = productService.getProductById(productId).version();
+
+        ProductDTOResponse patched = productService.patchProduct(productId, new UpdateProductDTORequest(version,
+                null, null, new BigDecimal("20.00"), new BigDecimal("15.00"), null, null, null, Category.PC));
+        assertEquals(0, new BigDecimal("15.00").compareTo(patched.effectivePrice()));
+        assertEquals(Category.PC, patched.category());
+        assertEquals(version + 1, patched.version());
+
+        assertThrows(IllegalArgumentException.class, () -> productService.patchProduct(productId,
+                new UpdateProductDTORequest(null, null, null, new BigDecimal("12.00"), null, null, null, null, null)));
+        assertThrows(OptimisticLockingFailureException.class, () -> productService.patchProduct(productId,
+                new UpdateProductDTORequest(version, null, "Stale", null, null, null, null, null, null)));
+        assertEquals(0, new BigDecimal("20.00").compareTo(productService.getProductById(productId).price()));
+
+        ProductDTOResponse ended = productService.patchProduct(productId,
+                new UpdateProductDTORequest(null, null, null, new BigDecimal("12.00"), null, true, null, null, null));
+        assertNull(ended.salePrice());
+        assertEquals(0, new BigDecimal("12.00").compareTo(ended.effectivePrice()));
+    }
+
+    /**
+     * Deletes a product in one statement and checks stale versions and
+     * missing products.
+     */
+    @Test
+    void productDeleteTakesOneStatementAndChecksVersion() {
+        Long productId = createProduct(5, "10.00");
+        long version = productRepo.findById(productId).orElseThrow().getVersion();
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> productService.deleteProduct(productId, version + 1));
+
+        statistics.clear();
+        productService.deleteProduct(productId, version);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertFalse(productRepo.existsById(productId));
+        assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(productId, null));
+    }
+
+    private User createUser() {
+        String name = "writer" + System.nanoTime();
+        return userService.createUser(new CreateUserDTORequest(name + "@example.com", "password123", "Write",
+                "Tester", name, null));
+    }
+
+    private Long createProduct(int stock, String price) {
+        return productService.createProduct(new CreateProductDTORequest(
+                "Write test " + System.nanoTime(), "Conditional write test product",
+                new BigDecimal(price), null, null, stock, Category.ACCESSORIES)).getId();
+    }
+}
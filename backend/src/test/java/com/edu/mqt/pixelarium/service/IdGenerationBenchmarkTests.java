@@ -0,0 +1,121 @@
+package com.edu.mqt.pixelarium.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.OrderItemDTORequest;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Measures insert throughput and JDBC statements per write for order
+ * creation and bulk product saves, to compare id generation strategies.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IdGenerationBenchmarkTests {
+
+    private static final long USER_ID = 1L;
+    private static final int ITEMS_PER_ORDER = 10;
+    private static final int WARMUP_ORDERS = 100;
+    private static final int MEASURED_ORDERS = 1000;
+    private static final int PRODUCTS_PER_SAVE = 1000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Creates orders of several lines each and reports orders per second and
+     * statements per order.
+     */
+    @Test
+    void createOrders() {
+        List<OrderItemDTORequest> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Product product = productService.createProduct(new CreateProductDTORequest(
+                    "Benchmark product " + i + " " + System.nanoTime(), "Id generation benchmark",
+                    new BigDecimal("10.00"), null, null, 10_000_000, Category.ACCESSORIES));
+            items.add(new OrderItemDTORequest(product.getId(), 1));
+        }
+        CreateOrderDTORequest order = new CreateOrderDTORequest(USER_ID, items);
+
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            orderService.createOrder(order);
+        }
+
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            orderService.createOrder(order);
+        }
+        report("createOrder (" + ITEMS_PER_ORDER + " lines)", MEASURED_ORDERS, start, statistics);
+    }
+
+    /**
+     * Saves a large batch of new products in one transaction and reports
+     * products per second and statements per product.
+     */
+    @Test
+    void saveProductsInBulk() {
+        saveProducts("warmup");
+
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        saveProducts("measured");
+        report("saveAll products", PRODUCTS_PER_SAVE, start, statistics);
+    }
+
+    private void saveProducts(String run) {
+        long suffix = System.nanoTime();
+        List<Product> products = new ArrayList<>(PRODUCTS_PER_SAVE);
+        for (int i = 0; i < PRODUCTS_PER_SAVE; i++) {
+            Product product = new Product();
+            product.setName("Bulk " + run + " " + suffix + " " + i);
+            product.setDescription("Id generation benchmark");
+            product.setPrice(new BigDecimal("5.00"));
+            product.setStock(1);
+            product.setCategory(Category.PC);
+            products.add(product);
+        }
+        transactionTemplate.executeWithoutResult(status -> productRepo.saveAll(products));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static void report(String operation, int count, long start, Statistics statistics) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("BENCHMARK %s: %.0f/s, %.2f statements each%n",
+                operation, count / seconds, (double) statistics.getPrepareStatementCount() / count);
+    }
+}
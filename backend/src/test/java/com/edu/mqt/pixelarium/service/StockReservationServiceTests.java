@@ -0,0 +1,207 @@
+package com.edu.mqt.pixelarium.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.mqt.pixelarium.exception.InsufficientStockException;
+import com.edu.mqt.pixelarium.model.dto.request.CreateOrderDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.CreateProductDTORequest;
+import com.edu.mqt.pixelarium.model.dto.request.OrderItemDTORequest;
+import com.edu.mqt.pixelarium.model.entities.Order;
+import com.edu.mqt.pixelarium.model.entities.Product;
+import com.edu.mqt.pixelarium.model.enumerated.Category;
+import com.edu.mqt.pixelarium.repositories.ProductRepository;
+
+/**
+ * Verifies that concurrent checkouts never take more stock than available
+ * and that orders deleted before they are sent give their stock back.
+ */
+@SpringBootTest
+class StockReservationServiceTests {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    /**
+     * Fires many single-unit checkouts for the same product from several
+     * threads and checks that exactly the available stock is sold.
+     */
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        int stock = 50;
+        int threads = 16;
+        int attemptsPerThread = 10;
+        Long productId = createProduct(stock);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        orderService.createOrder(new CreateOrderDTORequest(USER_ID,
+                                List.of(new OrderItemDTORequest(productId, 1))));
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(stock, sold.get());
+        assertEquals(threads * attemptsPerThread - stock, rejected.get());
+        assertEquals(0, currentStock(productId));
+    }
+
+    /**
+     * Runs the same concurrent checkouts against a product on flash sale and
+     * checks that its sharded stock sells out exactly, that reads show the
+     * live stock before the movements are folded, and that ending the sale
+     * writes it back to the product row.
+     */
+    @Test
+    void concurrentFlashSaleCheckoutsNeverOversell() throws Exception {
+        int stock = 50;
+        int threads = 16;
+        int attemptsPerThread = 10;
+        Long productId = createProduct(stock);
+        flashSaleService.startFlashSale(productId, 8);
+
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        orderService.createOrder(new CreateOrderDTORequest(USER_ID,
+                                List.of(new OrderItemDTORequest(productId, 1))));
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        // sold out
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(stock, sold.get());
+        assertEquals(0, productService.getProductById(productId).stock());
+        assertEquals(0, flashSaleService.getFlashSale(productId).stock());
+
+        flashSaleService.endFlashSale(productId);
+        assertEquals(0, currentStock(productId));
+    }
+
+    /**
+     * Checks that an order is rejected as a whole when one of its lines is
+     * short of stock, leaving the stock of the other lines untouched.
+     */
+    @Test
+    void orderWithOneShortLineTakesNoStock() {
+        Long available = createProduct(5);
+        Long shortOfStock = createProduct(1);
+
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(
+                new CreateOrderDTORequest(USER_ID, List.of(
+                        new OrderItemDTORequest(available, 2),
+                        new OrderItemDTORequest(shortOfStock, 2)))));
+
+        assertEquals(5, currentStock(available));
+        assertEquals(1, currentStock(shortOfStock));
+    }
+
+    /**
+     * Deletes one draft order and cancels another, and checks that both give
+     * their units back to stock.
+     */
+    @Test
+    void deletedAndCancelledDraftsReturnTheirStock() {
+        Long productId = createProduct(5);
+        Order deleted = orderService.createOrder(new CreateOrderDTORequest(USER_ID,
+                List.of(new OrderItemDTORequest(productId, 2))));
+        Order cancelled = orderService.createOrder(new CreateOrderDTORequest(USER_ID,
+                List.of(new OrderItemDTORequest(productId, 1), new OrderItemDTORequest(productId, 1))));
+        assertEquals(1, currentStock(productId));
+
+        orderService.deleteOrder(deleted.getId(), null);
+        assertEquals(3, currentStock(productId));
+        orderService.cancelOrder(cancelled.getId());
+        assertEquals(5, currentStock(productId));
+    }
+
+    /**
+     * Checks that product search shows the stock left after a checkout.
+     */
+    @Test
+    void searchShowsStockAfterCheckout() {
+        Long productId = createProduct(5);
+        String name = productService.getProductById(productId).name();
+        productService.searchProducts(name);
+
+        orderService.createOrder(new CreateOrderDTORequest(USER_ID, List.of(new OrderItemDTORequest(productId, 2))));
+        assertEquals(3, productService.searchProducts(name).stream()
+                .filter(product -> product.id().equals(productId))
+                .findFirst()
+                .orElseThrow()
+                .stock());
+    }
+
+    private Long createProduct(int stock) {
+        Product product = productService.createProduct(new CreateProductDTORequest(
+                "Stock test " + System.nanoTime(), "Stock reservation test product",
+                new BigDecimal("10.00"), null, null, stock, Category.ACCESSORIES));
+        return product.getId();
+    }
+
+    private int currentStock(Long productId) {
+        return productRepo.findById(productId).orElseThrow().getStock();
+    }
+}